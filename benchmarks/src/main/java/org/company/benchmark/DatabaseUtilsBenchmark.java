@@ -0,0 +1,72 @@
+package org.company.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.company.util.sql.DatabaseUtils;
+import org.company.util.sql.ResultTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DatabaseUtilsBenchmark {
+
+  @Param({"1000", "100000"})
+  private int numOfRows;
+
+  private String sqlQuery;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    var tableName = "employees_" + numOfRows;
+    DatabaseUtils.execute(
+        String.format(
+            "CREATE TABLE IF NOT EXISTS %s (employee_id INT PRIMARY KEY, first_name VARCHAR(20), "
+                + "last_name VARCHAR(25), email VARCHAR(100), hire_date DATE, salary DECIMAL(8, 2))",
+            tableName));
+    DatabaseUtils.execute(
+        String.format(
+            "MERGE INTO %s SELECT X, 'first-' || X, 'last-' || X, 'user' || X || '@company.org', "
+                + "DATEADD(DAY, MOD(X, 3650), DATE '2010-01-01'), 1000 + MOD(X, 9000) "
+                + "FROM SYSTEM_RANGE(1, %s)",
+            tableName, numOfRows));
+    sqlQuery = "SELECT * FROM " + tableName;
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    DatabaseUtils.closeDatabaseConnection();
+  }
+
+  @Benchmark
+  public Map<Integer, Map<String, String>> executeQueryAndGetResult() {
+    return DatabaseUtils.executeQueryAndGetResult(sqlQuery);
+  }
+
+  @Benchmark
+  public ResultTable executeQueryAndGetResultTable() {
+    return DatabaseUtils.executeQueryAndGetResultTable(sqlQuery);
+  }
+
+  @Benchmark
+  public long streamAndCountRows() {
+    try (var rows = DatabaseUtils.executeQueryAsStream(sqlQuery, 0, 1000)) {
+      return rows.count();
+    }
+  }
+}
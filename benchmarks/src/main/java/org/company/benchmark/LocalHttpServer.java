@@ -0,0 +1,60 @@
+package org.company.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.StringJoiner;
+import java.util.concurrent.Executors;
+
+class LocalHttpServer implements AutoCloseable {
+
+  private final HttpServer httpServer;
+
+  LocalHttpServer(String smallJson, String largeJson) {
+    try {
+      httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    httpServer.setExecutor(Executors.newCachedThreadPool());
+    httpServer.createContext("/small", exchange -> respond(exchange, smallJson));
+    httpServer.createContext("/large", exchange -> respond(exchange, largeJson));
+    httpServer.start();
+  }
+
+  String getUrl(String path) {
+    return String.format(
+        "http://%s:%s%s",
+        httpServer.getAddress().getHostString(), httpServer.getAddress().getPort(), path);
+  }
+
+  static String usersJson(int numOfUsers) {
+    var users = new StringJoiner(",", "[", "]");
+    for (int i = 1; i <= numOfUsers; i++) {
+      users.add(
+          String.format(
+              "{\"id\":%s,\"name\":\"user-%s\",\"email\":\"user%s@company.org\",\"phone\":null,"
+                  + "\"address\":{\"city\":\"city-%s\",\"zipcode\":\"%05d\"},\"tags\":[[\"a\",\"b\"]]}",
+              i, i, i, i % 50, i));
+    }
+    return users.toString();
+  }
+
+  private static void respond(com.sun.net.httpserver.HttpExchange exchange, String body)
+      throws IOException {
+    var bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+    exchange.sendResponseHeaders(200, bytes.length);
+    try (var responseBody = exchange.getResponseBody()) {
+      responseBody.write(bytes);
+    }
+  }
+
+  @Override
+  public void close() {
+    httpServer.stop(0);
+  }
+}
@@ -0,0 +1,40 @@
+package org.company.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.company.util.LogUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogUtilsBenchmark {
+
+  private final List<String> values = List.of("first_name", "last_name", "email");
+
+  @Benchmark
+  public void debugEnabled() {
+    LogUtils.debug("Validating if result contains column names", values);
+  }
+
+  @Benchmark
+  public void traceDisabled() {
+    LogUtils.trace("Validating if result contains column names", values);
+  }
+
+  @Benchmark
+  public void traceDisabledWithSupplier() {
+    LogUtils.trace("Validating if result contains column names", () -> values.toString());
+  }
+}
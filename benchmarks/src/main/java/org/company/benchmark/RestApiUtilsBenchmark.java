@@ -0,0 +1,72 @@
+package org.company.benchmark;
+
+import io.restassured.response.Response;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.company.restapi.RestService;
+import org.company.util.JsonDocument;
+import org.company.util.RestApiUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RestApiUtilsBenchmark {
+
+  private static final List<String> JSON_KEYS = List.of("id", "name", "email", "address.city");
+
+  @Param({"small", "large"})
+  private String payload;
+
+  private LocalHttpServer localHttpServer;
+  private Response response;
+  private String json;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    localHttpServer =
+        new LocalHttpServer(LocalHttpServer.usersJson(10), LocalHttpServer.usersJson(10_000));
+    response = RestService.callGetEndpoint(localHttpServer.getUrl("/" + payload));
+    json = response.asString();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    localHttpServer.close();
+  }
+
+  @Benchmark
+  public boolean hasKey() {
+    return RestApiUtils.hasKey(response, "email");
+  }
+
+  @Benchmark
+  public boolean isValuePresentForKey() {
+    return RestApiUtils.isValuePresentForKeyInResponse(response, "phone");
+  }
+
+  @Benchmark
+  public void validateResponseBodyContainsJsonKeys() {
+    RestApiUtils.validateIfResponseBodyContainsJsonKeys(response, JSON_KEYS);
+  }
+
+  @Benchmark
+  public boolean parseAndLookupKey() {
+    return JsonDocument.of(json).hasKey("email");
+  }
+}
@@ -0,0 +1,62 @@
+package org.company.benchmark;
+
+import io.restassured.response.Response;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.company.restapi.RequestTemplate;
+import org.company.restapi.RequestTemplates;
+import org.company.restapi.RequestType;
+import org.company.restapi.RestRequest;
+import org.company.restapi.RestService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RestServiceBenchmark {
+
+  private static final Map<String, String> HEADERS =
+      Map.of("Accept", "application/json", "Accept-Language", "en-GB");
+
+  private LocalHttpServer localHttpServer;
+  private String url;
+  private RestRequest templateRequest;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    localHttpServer = new LocalHttpServer(LocalHttpServer.usersJson(1), "[]");
+    url = localHttpServer.getUrl("/small");
+    RequestTemplates.register(
+        RequestTemplate.of("local", localHttpServer.getUrl("")).withHeaders(HEADERS));
+    templateRequest = RestRequest.of(RequestType.GET, "/small").withTemplate("local");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    localHttpServer.close();
+  }
+
+  @Benchmark
+  public Response callGetEndpointWithHeaders() {
+    return RestService.callGetEndpoint(url, HEADERS);
+  }
+
+  @Benchmark
+  public Response callEndpointWithTemplate() {
+    return RestService.callEndpoint(templateRequest);
+  }
+}
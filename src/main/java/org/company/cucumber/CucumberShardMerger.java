@@ -0,0 +1,111 @@
+package org.company.cucumber;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.company.util.LogUtils;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+public class CucumberShardMerger {
+
+  private static final String DEFAULT_REPORT_FILE = "target/cucumber/cucumber.json";
+  private static final String JSON_EXTENSION = ".json";
+  private static final String ELEMENTS_KEY = "elements";
+  private static final String BACKGROUND_TYPE = "background";
+
+  public static void main(String[] args) {
+    var shardDirectory =
+        args.length > 0 ? Paths.get(args[0]) : ScenarioScheduler.getShardReportDirectory();
+    var reportFile = args.length > 1 ? Paths.get(args[1]) : Paths.get(DEFAULT_REPORT_FILE);
+    merge(shardDirectory, reportFile);
+    ScenarioScheduler.mergeShardHistories();
+  }
+
+  public static void merge(Path shardDirectory, Path reportFile) {
+    var shardReportFiles = getShardReportFiles(shardDirectory);
+    if (shardReportFiles.isEmpty()) {
+      LogUtils.info("No shard reports found in {}", shardDirectory);
+      return;
+    }
+    Map<String, JSONObject> features = new TreeMap<>();
+    for (var shardReportFile : shardReportFiles) {
+      var shardFeatures = new JSONArray(readFile(shardReportFile));
+      for (int i = 0; i < shardFeatures.length(); i++) {
+        var shardFeature = shardFeatures.getJSONObject(i);
+        var featureId = shardFeature.optString("uri", shardFeature.optString("id"));
+        var feature = features.putIfAbsent(featureId, shardFeature);
+        var shardElements = shardFeature.optJSONArray(ELEMENTS_KEY);
+        if (feature != null && shardElements != null) {
+          if (!feature.has(ELEMENTS_KEY)) {
+            feature.put(ELEMENTS_KEY, new JSONArray());
+          }
+          shardElements.forEach(feature.getJSONArray(ELEMENTS_KEY)::put);
+        }
+      }
+    }
+    var report = new JSONArray();
+    features.values().forEach(feature -> report.put(sortElements(feature)));
+    try {
+      Files.createDirectories(reportFile.toAbsolutePath().getParent());
+      Files.writeString(reportFile, report.toString());
+    } catch (IOException e) {
+      LogUtils.error(String.format("Unable to write merged cucumber report %s", reportFile), e);
+    }
+    LogUtils.info(
+        "{} shard reports merged into {}", shardReportFiles.size(), reportFile.toAbsolutePath());
+  }
+
+  private static JSONObject sortElements(JSONObject feature) {
+    var elements = feature.optJSONArray(ELEMENTS_KEY);
+    if (elements == null) {
+      return feature;
+    }
+    // each background element belongs to the scenario that follows it
+    var scenarioGroups = new ArrayList<List<JSONObject>>();
+    var scenarioGroup = new ArrayList<JSONObject>();
+    for (int i = 0; i < elements.length(); i++) {
+      var element = elements.getJSONObject(i);
+      scenarioGroup.add(element);
+      if (!BACKGROUND_TYPE.equals(element.optString("type"))) {
+        scenarioGroups.add(scenarioGroup);
+        scenarioGroup = new ArrayList<>();
+      }
+    }
+    if (!scenarioGroup.isEmpty()) {
+      scenarioGroups.add(scenarioGroup);
+    }
+    scenarioGroups.sort(
+        Comparator.comparingInt(group -> group.get(group.size() - 1).optInt("line")));
+    var sortedElements = new JSONArray();
+    scenarioGroups.forEach(group -> group.forEach(sortedElements::put));
+    return feature.put(ELEMENTS_KEY, sortedElements);
+  }
+
+  private static List<Path> getShardReportFiles(Path shardDirectory) {
+    if (!Files.isDirectory(shardDirectory)) {
+      return List.of();
+    }
+    try (var files = Files.list(shardDirectory)) {
+      return files.filter(file -> file.toString().endsWith(JSON_EXTENSION)).sorted().toList();
+    } catch (IOException e) {
+      LogUtils.error(String.format("Unable to list shard reports in %s", shardDirectory), e);
+    }
+    return List.of();
+  }
+
+  private static String readFile(Path file) {
+    try {
+      return Files.readString(file);
+    } catch (IOException e) {
+      LogUtils.error(String.format("Unable to read shard report %s", file), e);
+    }
+    return "[]";
+  }
+}
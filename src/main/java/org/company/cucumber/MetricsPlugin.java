@@ -0,0 +1,48 @@
+package org.company.cucumber;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestRunFinished;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.apache.commons.lang3.StringUtils;
+import org.company.restapi.EndpointMetrics;
+import org.company.util.ConfigRegistry;
+import org.company.util.sql.QueryMetrics;
+
+public class MetricsPlugin implements ConcurrentEventListener {
+
+  private static final String DEFAULT_REST_METRICS_FILE = "target/rest-metrics.json";
+  private static final String DEFAULT_REST_SUMMARY_FILE = "target/cucumber/rest-metrics.properties";
+  private static final String DEFAULT_QUERY_METRICS_FILE = "target/query-metrics.json";
+  private static final String DEFAULT_QUERY_SUMMARY_FILE =
+      "target/cucumber/query-metrics.properties";
+
+  private final Path restMetricsFile;
+  private final Path restSummaryFile;
+  private final Path queryMetricsFile;
+  private final Path querySummaryFile;
+
+  public MetricsPlugin() {
+    this.restMetricsFile = getPath("rest-metrics-file", DEFAULT_REST_METRICS_FILE);
+    this.restSummaryFile = getPath("rest-metrics-summary-file", DEFAULT_REST_SUMMARY_FILE);
+    this.queryMetricsFile = getPath("dbQueryMetricsFile", DEFAULT_QUERY_METRICS_FILE);
+    this.querySummaryFile = getPath("dbQueryMetricsSummaryFile", DEFAULT_QUERY_SUMMARY_FILE);
+  }
+
+  @Override
+  public void setEventPublisher(EventPublisher publisher) {
+    publisher.registerHandlerFor(TestRunFinished.class, event -> exportMetrics());
+  }
+
+  private void exportMetrics() {
+    EndpointMetrics.exportJson(restMetricsFile);
+    EndpointMetrics.exportSummary(restSummaryFile);
+    QueryMetrics.exportJson(queryMetricsFile);
+    QueryMetrics.exportSummary(querySummaryFile);
+  }
+
+  private static Path getPath(String key, String defaultPath) {
+    return Paths.get(StringUtils.defaultIfBlank(ConfigRegistry.getString(key), defaultPath));
+  }
+}
@@ -0,0 +1,425 @@
+package org.company.cucumber;
+
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.company.exception.AutomationException;
+import org.company.util.ConfigRegistry;
+import org.company.util.FileUtils;
+import org.company.util.LogUtils;
+
+public class ScenarioScheduler {
+
+  public static final String SHARD_INDEX_PROPERTY = "scenario.shard.index";
+  public static final String SHARD_COUNT_PROPERTY = "scenario.shard.count";
+
+  private static final String DEFAULT_HISTORY_FILE = ".scenario-history.properties";
+  private static final String DEFAULT_SHARD_REPORT_DIRECTORY = "target/cucumber-shards";
+  private static final String SHARD_HISTORY_SUFFIX = ".shard-";
+  private static final String COMMA_SEPARATOR = ",";
+  private static final String COLON_SEPARATOR = ":";
+  private static final long UNKNOWN_DURATION = Long.MAX_VALUE;
+
+  private final int threadCount;
+  private final int shardIndex;
+  private final int shardCount;
+  private final Path historyFile;
+  private final Map<String, Integer> tagLimits;
+  private final Map<String, Set<String>> exclusiveTags;
+  private final Map<String, Semaphore> tagPermits = new TreeMap<>();
+  private final Map<String, Long> durationHistory;
+  private final Map<String, Long> recordedDurations = new ConcurrentHashMap<>();
+
+  public ScenarioScheduler() {
+    this(
+        ConfigRegistry.getInt("scenario-thread-count", Runtime.getRuntime().availableProcessors()),
+        NumberUtils.toInt(System.getProperty(SHARD_INDEX_PROPERTY), 0),
+        NumberUtils.toInt(System.getProperty(SHARD_COUNT_PROPERTY), 1),
+        getHistoryFile(),
+        loadTagLimits(FileUtils.getPropertyValue("scenario-tag-limits")),
+        loadExclusiveTags(FileUtils.getPropertyValue("scenario-exclusive-tags")),
+        loadDurationHistory(getHistoryFile()));
+  }
+
+  ScenarioScheduler(
+      int threadCount,
+      int shardIndex,
+      int shardCount,
+      Path historyFile,
+      Map<String, Integer> tagLimits,
+      Map<String, Set<String>> exclusiveTags,
+      Map<String, Long> durationHistory) {
+    if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+      throw new AutomationException(
+          String.format("Invalid scenario shard %s of %s", shardIndex, shardCount));
+    }
+    this.threadCount = Math.max(1, threadCount);
+    this.shardIndex = shardIndex;
+    this.shardCount = shardCount;
+    this.historyFile = historyFile;
+    this.tagLimits = new TreeMap<>(tagLimits);
+    this.exclusiveTags = exclusiveTags;
+    this.durationHistory = durationHistory;
+    this.tagLimits.forEach((tag, limit) -> tagPermits.put(tag, new Semaphore(limit, true)));
+    exclusiveTags.forEach(
+        (tag, excludedTags) ->
+            excludedTags.stream()
+                .filter(excludedTag -> !tagLimits.containsKey(excludedTag))
+                .forEach(
+                    excludedTag ->
+                        LogUtils.warn(
+                            "{} scenarios are not exclusive, {} has no tag limit",
+                            tag,
+                            excludedTag)));
+    LogUtils.debug(
+        "Scenario scheduler initialized with {} threads and tag limits {}", threadCount, tagLimits);
+  }
+
+  public int getThreadCount() {
+    return threadCount;
+  }
+
+  public boolean isSharded() {
+    return shardCount > 1;
+  }
+
+  public Path getShardReportFile() {
+    return getShardReportDirectory()
+        .resolve(String.format("cucumber-%s-of-%s.json", shardIndex + 1, shardCount));
+  }
+
+  public Object[][] schedule(Object[][] scenarios) {
+    return schedule(
+            Arrays.asList(scenarios),
+            scenario -> getScenarioKey(getPickle(scenario)),
+            scenario -> getPickle(scenario).getTags())
+        .toArray(Object[][]::new);
+  }
+
+  public void run(Pickle pickle, Runnable scenario) {
+    run(getScenarioKey(pickle), pickle.getTags(), scenario);
+  }
+
+  void run(String scenarioKey, Collection<String> tags, Runnable scenario) {
+    var acquiredPermits = acquireTagPermits(tags);
+    var startTime = System.nanoTime();
+    try {
+      scenario.run();
+    } finally {
+      recordedDurations.put(scenarioKey, (System.nanoTime() - startTime) / 1_000_000L);
+      acquiredPermits.forEach(Runnable::run);
+    }
+  }
+
+  /**
+   * Orders scenarios longest first, keeps this shard's share and then defers scenarios whose tag
+   * limit would still be exhausted when they reach a worker, so workers pick up other scenarios
+   * instead of waiting for a permit.
+   */
+  <T> List<T> schedule(
+      List<T> scenarios,
+      Function<T, String> getScenarioKey,
+      Function<T, Collection<String>> getTags) {
+    var scheduledScenarios = new ArrayList<>(scenarios);
+    scheduledScenarios.sort(
+        Comparator.comparingLong(
+                (T scenario) -> getExpectedDuration(getScenarioKey.apply(scenario)))
+            .reversed()
+            .thenComparing(getScenarioKey));
+    if (isSharded()) {
+      scheduledScenarios = selectShard(scheduledScenarios, getScenarioKey);
+    }
+    if (!tagLimits.isEmpty()) {
+      scheduledScenarios = deferLimitedScenarios(scheduledScenarios, getScenarioKey, getTags);
+    }
+    LogUtils.debug("{} scenarios scheduled longest first", scheduledScenarios.size());
+    return scheduledScenarios;
+  }
+
+  public void saveHistory() {
+    if (recordedDurations.isEmpty()) {
+      return;
+    }
+    var durations = new TreeMap<>(recordedDurations);
+    if (isSharded()) {
+      storeDurationHistory(durations, getShardHistoryFile());
+    } else {
+      durationHistory.forEach(durations::putIfAbsent);
+      storeDurationHistory(durations, historyFile);
+    }
+  }
+
+  public static Path getShardReportDirectory() {
+    return Paths.get(
+        StringUtils.defaultIfBlank(
+            FileUtils.getPropertyValue("scenario-shard-report-dir"),
+            DEFAULT_SHARD_REPORT_DIRECTORY));
+  }
+
+  public static void mergeShardHistories() {
+    var historyFile = getHistoryFile();
+    var historyDirectory = historyFile.toAbsolutePath().getParent();
+    var shardHistoryPrefix = historyFile.getFileName() + SHARD_HISTORY_SUFFIX;
+    if (!Files.isDirectory(historyDirectory)) {
+      return;
+    }
+    try (var files = Files.list(historyDirectory)) {
+      var shardHistoryFiles =
+          files
+              .filter(file -> file.getFileName().toString().startsWith(shardHistoryPrefix))
+              .toList();
+      if (shardHistoryFiles.isEmpty()) {
+        return;
+      }
+      var durations = new TreeMap<>(loadDurationHistory(historyFile));
+      for (var shardHistoryFile : shardHistoryFiles) {
+        durations.putAll(loadDurationHistory(shardHistoryFile));
+      }
+      storeDurationHistory(durations, historyFile);
+      for (var shardHistoryFile : shardHistoryFiles) {
+        Files.delete(shardHistoryFile);
+      }
+      LogUtils.debug("{} shard duration histories merged", shardHistoryFiles.size());
+    } catch (IOException e) {
+      LogUtils.error(String.format("Unable to merge shard durations into %s", historyFile), e);
+    }
+  }
+
+  private <T> ArrayList<T> selectShard(List<T> scenarios, Function<T, String> getScenarioKey) {
+    var shardLoads = new long[shardCount];
+    var shardScenarios = new ArrayList<T>();
+    for (var scenario : scenarios) {
+      var scenarioKey = getScenarioKey.apply(scenario);
+      var duration = durationHistory.get(scenarioKey);
+      int shard;
+      if (duration == null) {
+        shard = Math.floorMod(scenarioKey.hashCode(), shardCount);
+      } else {
+        shard = 0;
+        for (int i = 1; i < shardCount; i++) {
+          if (shardLoads[i] < shardLoads[shard]) {
+            shard = i;
+          }
+        }
+        shardLoads[shard] += duration;
+      }
+      if (shard == shardIndex) {
+        shardScenarios.add(scenario);
+      }
+    }
+    LogUtils.info(
+        "Shard {} of {} selected {} of {} scenarios",
+        shardIndex + 1,
+        shardCount,
+        shardScenarios.size(),
+        scenarios.size());
+    return shardScenarios;
+  }
+
+  /**
+   * Replays the dispatch on the expected durations: each time a worker frees up it takes the first
+   * pending scenario whose tags have a free permit, falling back to the one whose permit frees up
+   * first when every pending scenario is limited.
+   */
+  private <T> ArrayList<T> deferLimitedScenarios(
+      List<T> scenarios,
+      Function<T, String> getScenarioKey,
+      Function<T, Collection<String>> getTags) {
+    var defaultDuration =
+        durationHistory.values().stream().mapToLong(Long::longValue).max().orElse(1L);
+    var workerFreeTimes = new PriorityQueue<Long>();
+    for (int i = 0; i < threadCount; i++) {
+      workerFreeTimes.add(0L);
+    }
+    var permitFreeTimes = new HashMap<String, long[]>();
+    tagLimits.forEach((tag, limit) -> permitFreeTimes.put(tag, new long[limit]));
+    var pendingScenarios = new ArrayList<>(scenarios);
+    var dispatchedScenarios = new ArrayList<T>(scenarios.size());
+    while (!pendingScenarios.isEmpty()) {
+      long workerFreeTime = workerFreeTimes.poll();
+      int next = 0;
+      long nextStartTime = Long.MAX_VALUE;
+      for (int i = 0; i < pendingScenarios.size(); i++) {
+        var startTime = workerFreeTime;
+        for (var tagPermit :
+            getRequiredPermits(getTags.apply(pendingScenarios.get(i))).entrySet()) {
+          var freeTimes = permitFreeTimes.get(tagPermit.getKey());
+          startTime = Math.max(startTime, freeTimes[tagPermit.getValue() - 1]);
+        }
+        if (startTime < nextStartTime) {
+          next = i;
+          nextStartTime = startTime;
+        }
+        if (startTime == workerFreeTime) {
+          break;
+        }
+      }
+      var scenario = pendingScenarios.remove(next);
+      var duration = durationHistory.getOrDefault(getScenarioKey.apply(scenario), defaultDuration);
+      var endTime = nextStartTime + duration;
+      getRequiredPermits(getTags.apply(scenario))
+          .forEach(
+              (tag, permits) -> {
+                var freeTimes = permitFreeTimes.get(tag);
+                Arrays.fill(freeTimes, 0, permits, endTime);
+                Arrays.sort(freeTimes);
+              });
+      workerFreeTimes.add(endTime);
+      dispatchedScenarios.add(scenario);
+    }
+    return dispatchedScenarios;
+  }
+
+  private Path getShardHistoryFile() {
+    return historyFile.resolveSibling(
+        String.format(
+            "%s%s%s-of-%s",
+            historyFile.getFileName(), SHARD_HISTORY_SUFFIX, shardIndex + 1, shardCount));
+  }
+
+  private long getExpectedDuration(String scenarioKey) {
+    return durationHistory.getOrDefault(scenarioKey, UNKNOWN_DURATION);
+  }
+
+  private Map<String, Integer> getRequiredPermits(Collection<String> tags) {
+    var requiredPermits = new TreeMap<String, Integer>();
+    tags.stream().filter(tagLimits::containsKey).forEach(tag -> requiredPermits.put(tag, 1));
+    // an exclusive scenario takes every permit of the tags it excludes
+    tags.stream()
+        .filter(exclusiveTags::containsKey)
+        .flatMap(tag -> exclusiveTags.get(tag).stream())
+        .filter(tagLimits::containsKey)
+        .forEach(excludedTag -> requiredPermits.put(excludedTag, tagLimits.get(excludedTag)));
+    return requiredPermits;
+  }
+
+  private List<Runnable> acquireTagPermits(Collection<String> tags) {
+    var acquiredPermits = new ArrayList<Runnable>();
+    getRequiredPermits(tags)
+        .forEach(
+            (tag, permits) -> {
+              var semaphore = tagPermits.get(tag);
+              try {
+                if (!semaphore.tryAcquire(permits)) {
+                  LogUtils.debug("Scenario waiting for {} slot", tag);
+                  semaphore.acquire(permits);
+                }
+                acquiredPermits.add(() -> semaphore.release(permits));
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                acquiredPermits.forEach(Runnable::run);
+                LogUtils.error(String.format("Interrupted while waiting for %s slot", tag), e);
+              }
+            });
+    return acquiredPermits;
+  }
+
+  private static Pickle getPickle(Object[] scenario) {
+    return ((PickleWrapper) scenario[0]).getPickle();
+  }
+
+  private static Path getHistoryFile() {
+    return Paths.get(
+        StringUtils.defaultIfBlank(
+            FileUtils.getPropertyValue("scenario-history-file"), DEFAULT_HISTORY_FILE));
+  }
+
+  private static String getScenarioKey(Pickle pickle) {
+    return pickle.getUri() + COLON_SEPARATOR + pickle.getLine();
+  }
+
+  private static Map<String, Integer> loadTagLimits(String tagLimitsConfig) {
+    var tagLimits = new TreeMap<String, Integer>();
+    for (var tagLimit : StringUtils.split(tagLimitsConfig, COMMA_SEPARATOR)) {
+      var tag = StringUtils.substringBeforeLast(tagLimit, COLON_SEPARATOR).trim();
+      var limit =
+          NumberUtils.toInt(StringUtils.substringAfterLast(tagLimit, COLON_SEPARATOR).trim());
+      if (StringUtils.isBlank(tag) || limit < 1) {
+        LogUtils.warn("Ignoring invalid scenario tag limit", tagLimit);
+        continue;
+      }
+      tagLimits.put(tag, limit);
+    }
+    return tagLimits;
+  }
+
+  private static Map<String, Set<String>> loadExclusiveTags(String exclusiveTagsConfig) {
+    var exclusiveTags = new TreeMap<String, Set<String>>();
+    for (var exclusiveTag : StringUtils.split(exclusiveTagsConfig, COMMA_SEPARATOR)) {
+      var tag = StringUtils.substringBefore(exclusiveTag, COLON_SEPARATOR).trim();
+      var excludedTag = StringUtils.substringAfter(exclusiveTag, COLON_SEPARATOR).trim();
+      if (StringUtils.isAnyBlank(tag, excludedTag)) {
+        LogUtils.warn("Ignoring invalid exclusive scenario tag {}", exclusiveTag);
+        continue;
+      }
+      exclusiveTags.computeIfAbsent(tag, key -> new TreeSet<>()).add(excludedTag);
+    }
+    return exclusiveTags;
+  }
+
+  private static void storeDurationHistory(Map<String, Long> durations, Path historyFile) {
+    var history = new Properties();
+    durations.forEach((scenarioKey, duration) -> history.put(scenarioKey, duration.toString()));
+    try {
+      var historyDirectory = historyFile.toAbsolutePath().getParent();
+      Files.createDirectories(historyDirectory);
+      var tempFile = Files.createTempFile(historyDirectory, "scenario-history", ".tmp");
+      try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+        history.store(outputStream, "Scenario durations in milliseconds");
+      }
+      Files.move(
+          tempFile,
+          historyFile,
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+      LogUtils.debug("Scenario durations saved to {}", historyFile);
+    } catch (IOException e) {
+      LogUtils.error(String.format("Unable to save scenario durations to %s", historyFile), e);
+    }
+  }
+
+  private static Map<String, Long> loadDurationHistory(Path historyFile) {
+    var durationHistory = new ConcurrentHashMap<String, Long>();
+    if (!Files.isRegularFile(historyFile)) {
+      return durationHistory;
+    }
+    var history = new Properties();
+    try (InputStream inputStream = Files.newInputStream(historyFile)) {
+      history.load(inputStream);
+    } catch (IOException e) {
+      LogUtils.warn("Unable to read scenario durations from {}", historyFile);
+      return durationHistory;
+    }
+    history.forEach(
+        (scenarioKey, duration) -> {
+          var durationInMillis = NumberUtils.toLong(duration.toString(), -1L);
+          if (durationInMillis >= 0) {
+            durationHistory.put(scenarioKey.toString(), durationInMillis);
+          }
+        });
+    return durationHistory;
+  }
+}
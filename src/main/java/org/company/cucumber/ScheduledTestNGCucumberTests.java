@@ -0,0 +1,51 @@
+package org.company.cucumber;
+
+import io.cucumber.testng.AbstractTestNGCucumberTests;
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.PickleWrapper;
+import org.testng.ITestContext;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public abstract class ScheduledTestNGCucumberTests extends AbstractTestNGCucumberTests {
+
+  private static final String CUCUMBER_PLUGIN_PROPERTY = "cucumber.plugin";
+
+  private final ScenarioScheduler scenarioScheduler = new ScenarioScheduler();
+
+  @Override
+  @BeforeClass(alwaysRun = true)
+  public void setUpClass(ITestContext context) {
+    if (scenarioScheduler.isSharded()) {
+      context
+          .getCurrentXmlTest()
+          .addParameter(CUCUMBER_PLUGIN_PROPERTY, "json:" + scenarioScheduler.getShardReportFile());
+    }
+    super.setUpClass(context);
+  }
+
+  @BeforeClass(alwaysRun = true)
+  public void configureScenarioThreads(ITestContext context) {
+    context.getSuite().getXmlSuite().setDataProviderThreadCount(scenarioScheduler.getThreadCount());
+  }
+
+  @Override
+  @Test(groups = "cucumber", description = "Runs Cucumber Scenarios", dataProvider = "scenarios")
+  public void runScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) {
+    scenarioScheduler.run(
+        pickleWrapper.getPickle(), () -> super.runScenario(pickleWrapper, featureWrapper));
+  }
+
+  @Override
+  @DataProvider(parallel = true)
+  public Object[][] scenarios() {
+    return scenarioScheduler.schedule(super.scenarios());
+  }
+
+  @AfterClass(alwaysRun = true)
+  public void saveScenarioHistory() {
+    scenarioScheduler.saveHistory();
+  }
+}
@@ -0,0 +1,170 @@
+package org.company.restapi;
+
+import io.restassured.response.Response;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.company.exception.AutomationException;
+import org.company.util.ConfigRegistry;
+import org.company.util.LogUtils;
+
+class AsyncRestExecutor {
+
+  private static final int SHARED_MAX_CONCURRENCY =
+      ConfigRegistry.getInt("rest-batch-max-concurrency", 0);
+  private static final ExecutorService SHARED_EXECUTOR = newExecutor(SHARED_MAX_CONCURRENCY);
+  private static final Semaphore SHARED_PERMITS =
+      SHARED_MAX_CONCURRENCY > 0 ? new Semaphore(SHARED_MAX_CONCURRENCY) : null;
+
+  static CompletableFuture<Response> submit(
+      RestRequest request, Function<RestRequest, Response> call) {
+    var scenarioTrack = RestCassette.getScenarioTrack();
+    return CompletableFuture.supplyAsync(
+        () ->
+            RestCassette.inScenario(
+                scenarioTrack, () -> withPermit(SHARED_PERMITS, () -> call.apply(request))),
+        SHARED_EXECUTOR);
+  }
+
+  static List<RestCallResult> invokeAll(
+      List<RestRequest> requests,
+      Function<RestRequest, Response> call,
+      int maxConcurrency,
+      Duration timeout) {
+    if (requests.isEmpty()) {
+      return List.of();
+    }
+    var concurrency =
+        maxConcurrency > 0 ? Math.min(maxConcurrency, requests.size()) : requests.size();
+    var executor = newExecutor(concurrency);
+    var permits = new Semaphore(concurrency);
+    var scenarioTrack = RestCassette.getScenarioTrack();
+    var startNanos = System.nanoTime();
+    var futures = new ArrayList<CompletableFuture<RestCallResult>>(requests.size());
+    try {
+      for (var request : requests) {
+        futures.add(
+            CompletableFuture.supplyAsync(
+                () ->
+                    RestCassette.inScenario(
+                        scenarioTrack, () -> callWithPermit(request, call, permits)),
+                executor));
+      }
+      awaitAll(futures, timeout);
+      var results = new ArrayList<RestCallResult>(requests.size());
+      for (int i = 0; i < requests.size(); i++) {
+        results.add(getResult(requests.get(i), futures.get(i), startNanos, timeout));
+      }
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static RestCallResult callWithPermit(
+      RestRequest request, Function<RestRequest, Response> call, Semaphore permits) {
+    return withPermit(
+        permits,
+        () -> {
+          var startNanos = System.nanoTime();
+          try {
+            var response = call.apply(request);
+            return new RestCallResult(
+                request, response, null, Duration.ofNanos(System.nanoTime() - startNanos));
+          } catch (RuntimeException e) {
+            return new RestCallResult(
+                request, null, e, Duration.ofNanos(System.nanoTime() - startNanos));
+          }
+        });
+  }
+
+  private static <T> T withPermit(Semaphore permits, Supplier<T> supplier) {
+    if (permits == null) {
+      return supplier.get();
+    }
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CompletionException(e);
+    }
+    try {
+      return supplier.get();
+    } finally {
+      permits.release();
+    }
+  }
+
+  private static void awaitAll(List<CompletableFuture<RestCallResult>> futures, Duration timeout) {
+    var allFutures = CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+    try {
+      if (timeout == null || timeout.isZero() || timeout.isNegative()) {
+        allFutures.get();
+      } else {
+        allFutures.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AutomationException("Interrupted while waiting for api calls to complete", e);
+    } catch (ExecutionException | TimeoutException e) {
+      LogUtils.debug("Not all api calls completed successfully", e.getMessage());
+    }
+  }
+
+  private static RestCallResult getResult(
+      RestRequest request,
+      CompletableFuture<RestCallResult> future,
+      long startNanos,
+      Duration timeout) {
+    if (!future.isDone()) {
+      future.cancel(true);
+      return new RestCallResult(
+          request,
+          null,
+          new TimeoutException(String.format("Api call did not complete within %s", timeout)),
+          Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+    try {
+      return future.join();
+    } catch (CompletionException | CancellationException e) {
+      var failure = e.getCause() != null ? e.getCause() : e;
+      return new RestCallResult(
+          request, null, failure, Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+  }
+
+  static ExecutorService newExecutor(int poolSize) {
+    try {
+      return (ExecutorService)
+          Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      LogUtils.trace("Virtual threads are not available, falling back to platform threads");
+    }
+    var threadFactory = daemonThreadFactory();
+    return poolSize > 0
+        ? Executors.newFixedThreadPool(poolSize, threadFactory)
+        : Executors.newCachedThreadPool(threadFactory);
+  }
+
+  private static ThreadFactory daemonThreadFactory() {
+    var threadCount = new AtomicInteger();
+    return runnable -> {
+      var thread = new Thread(runnable, "rest-async-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
@@ -0,0 +1,231 @@
+package org.company.restapi;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.company.util.ConfigRegistry;
+import org.company.util.LatencyHistogram;
+import org.company.util.LogUtils;
+import org.json.JSONObject;
+
+public class EndpointMetrics {
+
+  private static final Pattern ID_SEGMENT =
+      Pattern.compile(
+          "(?<=/)(\\d+|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|[0-9a-fA-F]{16,})(?=/|$)");
+  private static final String ID_PLACEHOLDER = "{id}";
+  private static final String OTHER_ENDPOINTS = "OTHER";
+  private static final String SCHEME_SEPARATOR = "://";
+  private static final int DEFAULT_MAX_ENDPOINTS = 500;
+  private static final int STRIPE_COUNT =
+      Math.min(
+          16,
+          Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1);
+  private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+  private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p999"};
+
+  private static final boolean ENABLED = ConfigRegistry.getBoolean("rest-metrics-enabled", true);
+  private static final int MAX_ENDPOINTS =
+      ConfigRegistry.getInt("rest-metrics-max-endpoints", DEFAULT_MAX_ENDPOINTS);
+  private static final Map<String, EndpointStats> ENDPOINT_STATS = new ConcurrentHashMap<>();
+
+  public static JSONObject toJson() {
+    var endpoints = new JSONObject();
+    new TreeMap<>(ENDPOINT_STATS)
+        .forEach((endpoint, stats) -> endpoints.put(endpoint, stats.toJson()));
+    return new JSONObject().put("endpoints", endpoints);
+  }
+
+  public static void exportJson(Path file) {
+    try {
+      Files.createDirectories(file.toAbsolutePath().getParent());
+      Files.writeString(file, toJson().toString(2));
+    } catch (IOException e) {
+      LogUtils.error(String.format("Unable to export rest metrics to %s", file), e);
+    }
+    LogUtils.debug("Rest metrics for {} endpoints exported to {}", ENDPOINT_STATS.size(), file);
+  }
+
+  public static void exportSummary(Path file) {
+    var summary = new Properties();
+    ENDPOINT_STATS.forEach((endpoint, stats) -> summary.put(endpoint, stats.getSummary()));
+    try {
+      Files.createDirectories(file.toAbsolutePath().getParent());
+      try (OutputStream outputStream = Files.newOutputStream(file)) {
+        summary.store(outputStream, "Rest endpoint latencies");
+      }
+    } catch (IOException e) {
+      LogUtils.error(String.format("Unable to export rest metrics summary to %s", file), e);
+    }
+  }
+
+  public static void reset() {
+    ENDPOINT_STATS.clear();
+  }
+
+  static boolean isEnabled() {
+    return ENABLED;
+  }
+
+  static Response record(
+      FilterableRequestSpecification requestSpecification,
+      FilterableResponseSpecification responseSpecification,
+      FilterContext filterContext) {
+    var endpointStats = getEndpointStats(requestSpecification);
+    var startTime = System.nanoTime();
+    var recorded = false;
+    try {
+      var response = filterContext.next(requestSpecification, responseSpecification);
+      endpointStats.record(
+          System.nanoTime() - startTime,
+          response.getStatusCode(),
+          RequestTemplates.isStreamingResponseBody(filterContext)
+              ? NumberUtils.toLong(response.getHeader("Content-Length"))
+              : response.asByteArray().length);
+      recorded = true;
+      return response;
+    } finally {
+      if (!recorded) {
+        endpointStats.recordError(System.nanoTime() - startTime);
+      }
+    }
+  }
+
+  private static EndpointStats getEndpointStats(
+      FilterableRequestSpecification requestSpecification) {
+    var endpoint = requestSpecification.getMethod() + " " + getUrlTemplate(requestSpecification);
+    var endpointStats = ENDPOINT_STATS.get(endpoint);
+    if (endpointStats == null) {
+      if (ENDPOINT_STATS.size() >= MAX_ENDPOINTS) {
+        endpoint = OTHER_ENDPOINTS;
+      }
+      endpointStats = ENDPOINT_STATS.computeIfAbsent(endpoint, key -> new EndpointStats());
+    }
+    return endpointStats;
+  }
+
+  private static String getUrlTemplate(FilterableRequestSpecification requestSpecification) {
+    var url = StringUtils.substringBefore(requestSpecification.getURI(), "?");
+    var userDefinedPath =
+        StringUtils.substringBefore(requestSpecification.getUserDefinedPath(), "?");
+    if (!StringUtils.contains(userDefinedPath, '{')) {
+      return ID_SEGMENT.matcher(url).replaceAll(ID_PLACEHOLDER);
+    }
+    return getOrigin(url) + StringUtils.prependIfMissing(getPath(userDefinedPath), "/");
+  }
+
+  private static String getOrigin(String url) {
+    var pathIndex = url.indexOf('/', url.indexOf(SCHEME_SEPARATOR) + SCHEME_SEPARATOR.length());
+    return pathIndex < 0 ? url : url.substring(0, pathIndex);
+  }
+
+  private static String getPath(String url) {
+    return url.contains(SCHEME_SEPARATOR) ? url.substring(getOrigin(url).length()) : url;
+  }
+
+  private static class EndpointStats {
+
+    // a histogram takes about 21 KB, so a stripe is allocated only once a thread records on it
+    private final AtomicReferenceArray<LatencyHistogram> latencyStripes =
+        new AtomicReferenceArray<>(STRIPE_COUNT);
+    private final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder responseBytes = new LongAdder();
+    private final AtomicLong maxResponseBytes = new AtomicLong();
+
+    private void record(long latencyInNanos, int statusCode, long responseSize) {
+      getLatencyStripe().recordMicros(latencyInNanos / 1_000L);
+      statusCodes.computeIfAbsent(statusCode, key -> new LongAdder()).increment();
+      responseBytes.add(responseSize);
+      if (responseSize > maxResponseBytes.get()) {
+        maxResponseBytes.accumulateAndGet(responseSize, Math::max);
+      }
+    }
+
+    private void recordError(long latencyInNanos) {
+      getLatencyStripe().recordMicros(latencyInNanos / 1_000L);
+      errorCount.increment();
+    }
+
+    private LatencyHistogram getLatencyStripe() {
+      var stripe = (int) Thread.currentThread().getId() & (STRIPE_COUNT - 1);
+      var latencyStripe = latencyStripes.get(stripe);
+      if (latencyStripe == null) {
+        latencyStripes.compareAndSet(stripe, null, new LatencyHistogram());
+        latencyStripe = latencyStripes.get(stripe);
+      }
+      return latencyStripe;
+    }
+
+    private LatencyHistogram getLatencies() {
+      var latencies = new LatencyHistogram();
+      for (int i = 0; i < STRIPE_COUNT; i++) {
+        var latencyStripe = latencyStripes.get(i);
+        if (latencyStripe != null) {
+          latencies.add(latencyStripe);
+        }
+      }
+      return latencies;
+    }
+
+    private JSONObject toJson() {
+      var latencies = getLatencies();
+      var count = latencies.getCount();
+      var latencyJson =
+          new JSONObject()
+              .put("mean", toMillis(latencies.getMean()))
+              .put("max", toMillis(latencies.getMax()));
+      for (int i = 0; i < PERCENTILES.length; i++) {
+        latencyJson.put(
+            PERCENTILE_NAMES[i], toMillis(latencies.getValueAtPercentile(PERCENTILES[i])));
+      }
+      var statusCodeJson = new JSONObject();
+      new TreeMap<>(statusCodes)
+          .forEach(
+              (statusCode, counter) -> statusCodeJson.put(statusCode.toString(), counter.sum()));
+      var responseCount = count - errorCount.sum();
+      return new JSONObject()
+          .put("count", count)
+          .put("errors", errorCount.sum())
+          .put("statusCodes", statusCodeJson)
+          .put("latencyMs", latencyJson)
+          .put(
+              "responseBytes",
+              new JSONObject()
+                  .put("mean", responseCount > 0 ? responseBytes.sum() / responseCount : 0)
+                  .put("max", maxResponseBytes.get()));
+    }
+
+    private String getSummary() {
+      var latencies = getLatencies();
+      return String.format(
+          "count=%s, errors=%s, p50=%sms, p90=%sms, p99=%sms, max=%sms",
+          latencies.getCount(),
+          errorCount.sum(),
+          toMillis(latencies.getValueAtPercentile(50)),
+          toMillis(latencies.getValueAtPercentile(90)),
+          toMillis(latencies.getValueAtPercentile(99)),
+          toMillis(latencies.getMax()));
+    }
+
+    private static double toMillis(Duration duration) {
+      return Math.round(duration.toNanos() / 10_000.0) / 100.0;
+    }
+  }
+}
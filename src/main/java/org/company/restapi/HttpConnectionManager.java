@@ -0,0 +1,68 @@
+package org.company.restapi;
+
+import io.restassured.config.HttpClientConfig;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.CoreConnectionPNames;
+import org.company.util.ConfigRegistry;
+import org.company.util.LogUtils;
+
+public class HttpConnectionManager {
+
+  private static final int DEFAULT_MAX_TOTAL = 100;
+  private static final int DEFAULT_MAX_PER_ROUTE = 20;
+  private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+  private static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(30);
+  private static final Duration DEFAULT_POOL_WAIT_TIMEOUT = Duration.ofSeconds(30);
+
+  // RestAssured's HTTPBuilder only accepts an AbstractHttpClient, which needs the classic pool
+  @SuppressWarnings("deprecation")
+  private static final PoolingClientConnectionManager CONNECTION_MANAGER =
+      createConnectionManager();
+
+  public static HttpClientConfig getHttpClientConfig() {
+    return getHttpClientConfig(
+        ConfigRegistry.getDuration("rest-connect-timeout-ms", DEFAULT_CONNECT_TIMEOUT),
+        ConfigRegistry.getDuration("rest-read-timeout-ms", DEFAULT_READ_TIMEOUT));
+  }
+
+  @SuppressWarnings("deprecation")
+  public static HttpClientConfig getHttpClientConfig(
+      Duration connectTimeout, Duration readTimeout) {
+    var poolWaitTimeout =
+        ConfigRegistry.getDuration("rest-pool-wait-timeout-ms", DEFAULT_POOL_WAIT_TIMEOUT);
+    return HttpClientConfig.httpClientConfig()
+        .httpClientFactory(() -> new DefaultHttpClient(CONNECTION_MANAGER))
+        .setParam(
+            CoreConnectionPNames.CONNECTION_TIMEOUT, Math.toIntExact(connectTimeout.toMillis()))
+        .setParam(CoreConnectionPNames.SO_TIMEOUT, Math.toIntExact(readTimeout.toMillis()))
+        .setParam(ClientPNames.CONN_MANAGER_TIMEOUT, poolWaitTimeout.toMillis());
+  }
+
+  public static String getPoolStats() {
+    return CONNECTION_MANAGER.getTotalStats().toString();
+  }
+
+  public static void closeIdleConnections(Duration idleTime) {
+    CONNECTION_MANAGER.closeExpiredConnections();
+    CONNECTION_MANAGER.closeIdleConnections(idleTime.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @SuppressWarnings("deprecation")
+  private static PoolingClientConnectionManager createConnectionManager() {
+    var connectionManager =
+        new PoolingClientConnectionManager(SchemeRegistryFactory.createSystemDefault());
+    connectionManager.setMaxTotal(ConfigRegistry.getInt("rest-pool-max-total", DEFAULT_MAX_TOTAL));
+    connectionManager.setDefaultMaxPerRoute(
+        ConfigRegistry.getInt("rest-pool-max-per-route", DEFAULT_MAX_PER_ROUTE));
+    LogUtils.debug(
+        "Http connection pool initialized with max total {} and max per route {}",
+        connectionManager.getMaxTotal(),
+        connectionManager.getDefaultMaxPerRoute());
+    return connectionManager;
+  }
+}
@@ -0,0 +1,185 @@
+package org.company.restapi;
+
+import io.restassured.response.Response;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import org.company.exception.AutomationException;
+import org.company.util.ConfigRegistry;
+import org.company.util.LatencyHistogram;
+import org.company.util.LogUtils;
+
+public class LoadGenerator {
+
+  private static final int DEFAULT_MAX_IN_FLIGHT = 1_000;
+  private static final Duration DEFAULT_DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+  public static LoadTestResult runAtRate(
+      RestRequest request, int requestsPerSecond, Duration duration) {
+    return runAtRate(() -> RestService.callEndpoint(request), requestsPerSecond, duration);
+  }
+
+  public static LoadTestResult runWithConcurrency(
+      RestRequest request, int concurrency, Duration duration) {
+    return runWithConcurrency(() -> RestService.callEndpoint(request), concurrency, duration);
+  }
+
+  public static LoadTestResult runAtRate(
+      Supplier<Response> call, int requestsPerSecond, Duration duration) {
+    if (requestsPerSecond < 1) {
+      throw new AutomationException("Load test rate must be at least 1 request per second");
+    }
+    var loadTest = new LoadTest(AsyncRestExecutor.newExecutor(0));
+    var inFlightPermits =
+        new Semaphore(ConfigRegistry.getInt("load-test-max-in-flight", DEFAULT_MAX_IN_FLIGHT));
+    var intervalInNanos = 1_000_000_000.0 / requestsPerSecond;
+    var startTime = System.nanoTime();
+    var endTime = startTime + duration.toNanos();
+    for (long i = 0; ; i++) {
+      // Latency is measured from the intended start so a stalled endpoint cannot hide its queue
+      var intendedStartTime = startTime + (long) (i * intervalInNanos);
+      if (intendedStartTime - endTime >= 0) {
+        break;
+      }
+      parkUntil(intendedStartTime);
+      inFlightPermits.acquireUninterruptibly();
+      loadTest.submit(
+          () -> {
+            try {
+              loadTest.call(call, intendedStartTime);
+            } finally {
+              inFlightPermits.release();
+            }
+          });
+    }
+    return loadTest.finish(startTime);
+  }
+
+  public static LoadTestResult runWithConcurrency(
+      Supplier<Response> call, int concurrency, Duration duration) {
+    if (concurrency < 1) {
+      throw new AutomationException("Load test concurrency must be at least 1");
+    }
+    var loadTest = new LoadTest(AsyncRestExecutor.newExecutor(concurrency));
+    var startTime = System.nanoTime();
+    var endTime = startTime + duration.toNanos();
+    for (int i = 0; i < concurrency; i++) {
+      loadTest.submit(
+          () -> {
+            while (System.nanoTime() - endTime < 0) {
+              loadTest.call(call, System.nanoTime());
+            }
+          });
+    }
+    return loadTest.finish(startTime);
+  }
+
+  private static void parkUntil(long deadline) {
+    for (var remaining = deadline - System.nanoTime();
+        remaining > 0;
+        remaining = deadline - System.nanoTime()) {
+      LockSupport.parkNanos(remaining);
+    }
+  }
+
+  private static class LoadTest {
+
+    private final ExecutorService executor;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final AtomicLong callIds = new AtomicLong();
+    private final ConcurrentHashMap<Long, Long> inFlightCalls = new ConcurrentHashMap<>();
+    // Calls complete under the read lock, finish counts the calls still in flight under the write
+    // lock, so every call is counted exactly once and none after the result is taken
+    private final ReadWriteLock resultLock = new ReentrantReadWriteLock();
+
+    private LoadTest(ExecutorService executor) {
+      this.executor = executor;
+    }
+
+    private void submit(Runnable task) {
+      executor.execute(task);
+    }
+
+    private void call(Supplier<Response> call, long startTime) {
+      var callId = callIds.incrementAndGet();
+      inFlightCalls.put(callId, startTime);
+      var failed = false;
+      try {
+        failed = call.get().getStatusCode() >= 400;
+      } catch (RuntimeException e) {
+        failed = true;
+      }
+      resultLock.readLock().lock();
+      try {
+        if (inFlightCalls.remove(callId) != null) {
+          record(startTime, System.nanoTime(), failed);
+        }
+      } finally {
+        resultLock.readLock().unlock();
+      }
+    }
+
+    private void record(long startTime, long endTime, boolean failed) {
+      latencies.record(Duration.ofNanos(endTime - startTime));
+      requestCount.increment();
+      if (failed) {
+        errorCount.increment();
+      }
+    }
+
+    private LoadTestResult finish(long startTime) {
+      executor.shutdown();
+      var drainTimeout =
+          ConfigRegistry.getDuration("load-test-drain-timeout-ms", DEFAULT_DRAIN_TIMEOUT);
+      try {
+        executor.awaitTermination(drainTimeout.toNanos(), TimeUnit.NANOSECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        executor.shutdownNow();
+        throw new AutomationException("Interrupted while waiting for load test to finish", e);
+      }
+      LoadTestResult result;
+      resultLock.writeLock().lock();
+      try {
+        var endTime = System.nanoTime();
+        inFlightCalls.forEach(
+            (callId, callStartTime) -> {
+              record(callStartTime, endTime, true);
+              timeoutCount.increment();
+            });
+        inFlightCalls.clear();
+        var latencySnapshot = new LatencyHistogram();
+        latencySnapshot.add(latencies);
+        result =
+            new LoadTestResult(
+                requestCount.sum(),
+                errorCount.sum(),
+                timeoutCount.sum(),
+                Duration.ofNanos(endTime - startTime),
+                latencySnapshot);
+      } finally {
+        resultLock.writeLock().unlock();
+      }
+      if (result.timeoutCount() > 0) {
+        LogUtils.warn(
+            "{} load test requests still in flight after {} are counted as errors",
+            result.timeoutCount(),
+            drainTimeout);
+        executor.shutdownNow();
+      }
+      LogUtils.debug("Load test finished", result::getSummary);
+      return result;
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package org.company.restapi;
+
+import java.time.Duration;
+import org.company.exception.AutomationException;
+import org.company.util.LatencyHistogram;
+
+/**
+ * Outcome of a load test. Requests still in flight when the drain timeout ends are counted as
+ * errors and timeouts, with the time they had been waiting as their latency.
+ */
+public record LoadTestResult(
+    long requestCount,
+    long errorCount,
+    long timeoutCount,
+    Duration elapsedTime,
+    LatencyHistogram latencies) {
+
+  public double getThroughput() {
+    var elapsedSeconds = elapsedTime.toNanos() / 1_000_000_000.0;
+    return elapsedSeconds > 0 ? (requestCount - errorCount) / elapsedSeconds : 0.0;
+  }
+
+  public double getErrorRate() {
+    return requestCount > 0 ? errorCount * 100.0 / requestCount : 0.0;
+  }
+
+  public Duration getLatency(double percentile) {
+    if (percentile <= 0 || percentile > 100) {
+      throw new AutomationException(
+          String.format(
+              "Latency percentile %s is not between 0 and 100, write p99.9 for the 99.9th"
+                  + " percentile",
+              percentile));
+    }
+    return latencies.getValueAtPercentile(percentile);
+  }
+
+  public String getSummary() {
+    return String.format(
+        "requests=%s, errors=%s (%.2f%%), timeouts=%s, throughput=%.1f rps, p50=%sms, p90=%sms,"
+            + " p99=%sms, p99.9=%sms, max=%sms",
+        requestCount,
+        errorCount,
+        getErrorRate(),
+        timeoutCount,
+        getThroughput(),
+        getLatency(50).toMillis(),
+        getLatency(90).toMillis(),
+        getLatency(99).toMillis(),
+        getLatency(99.9).toMillis(),
+        latencies.getMax().toMillis());
+  }
+}
@@ -0,0 +1,33 @@
+package org.company.restapi;
+
+import java.time.Duration;
+import java.util.Map;
+
+public record RequestTemplate(
+    String name,
+    String baseUri,
+    Map<String, String> headers,
+    String username,
+    String password,
+    Duration connectTimeout,
+    Duration readTimeout) {
+
+  public static RequestTemplate of(String name, String baseUri) {
+    return new RequestTemplate(name, baseUri, Map.of(), null, null, null, null);
+  }
+
+  public RequestTemplate withHeaders(Map<String, String> headers) {
+    return new RequestTemplate(
+        name, baseUri, Map.copyOf(headers), username, password, connectTimeout, readTimeout);
+  }
+
+  public RequestTemplate withBasicAuth(String username, String password) {
+    return new RequestTemplate(
+        name, baseUri, headers, username, password, connectTimeout, readTimeout);
+  }
+
+  public RequestTemplate withTimeouts(Duration connectTimeout, Duration readTimeout) {
+    return new RequestTemplate(
+        name, baseUri, headers, username, password, connectTimeout, readTimeout);
+  }
+}
@@ -0,0 +1,142 @@
+package org.company.restapi;
+
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSpecification;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.company.exception.AutomationException;
+import org.company.util.FileUtils;
+import org.company.util.LogUtils;
+
+public class RequestTemplates {
+
+  public static final String DEFAULT_TEMPLATE = "default";
+
+  static final String STREAM_RESPONSE_BODY = "streamResponseBody";
+
+  private static final String COMMA_SEPARATOR = ",";
+  private static final String COLON_SEPARATOR = ":";
+  private static final Map<String, RequestSpecification> REQUEST_SPECIFICATIONS =
+      new ConcurrentHashMap<>();
+
+  static {
+    REQUEST_SPECIFICATIONS.put(DEFAULT_TEMPLATE, buildRequestSpecification(null));
+    for (var templateName :
+        StringUtils.split(FileUtils.getPropertyValue("rest-templates"), COMMA_SEPARATOR)) {
+      register(loadRequestTemplate(templateName.trim()));
+    }
+  }
+
+  public static void register(RequestTemplate requestTemplate) {
+    REQUEST_SPECIFICATIONS.put(requestTemplate.name(), buildRequestSpecification(requestTemplate));
+    LogUtils.debug("Request template {} registered", requestTemplate.name());
+  }
+
+  public static boolean isRegistered(String templateName) {
+    return REQUEST_SPECIFICATIONS.containsKey(templateName);
+  }
+
+  static RequestSpecification getRequestSpecification(String templateName) {
+    var requestSpecification =
+        REQUEST_SPECIFICATIONS.get(Objects.requireNonNullElse(templateName, DEFAULT_TEMPLATE));
+    if (requestSpecification == null) {
+      throw new AutomationException(
+          String.format("Request template %s is not registered", templateName));
+    }
+    return requestSpecification;
+  }
+
+  private static RequestSpecification buildRequestSpecification(RequestTemplate requestTemplate) {
+    var httpClientConfig =
+        requestTemplate != null
+                && requestTemplate.connectTimeout() != null
+                && requestTemplate.readTimeout() != null
+            ? HttpConnectionManager.getHttpClientConfig(
+                requestTemplate.connectTimeout(), requestTemplate.readTimeout())
+            : HttpConnectionManager.getHttpClientConfig();
+    var requestSpecBuilder =
+        new RequestSpecBuilder().setConfig(RestAssured.config().httpClient(httpClientConfig));
+    if (RestCassette.getDefault().isEnabled()) {
+      requestSpecBuilder.addFilter(RestCassette.getDefault()::intercept);
+    }
+    if (EndpointMetrics.isEnabled()) {
+      requestSpecBuilder.addFilter(EndpointMetrics::record);
+    }
+    requestSpecBuilder.addFilter(RequestTemplates::readResponseBody);
+    if (requestTemplate == null) {
+      return requestSpecBuilder.build();
+    }
+    if (StringUtils.isNotBlank(requestTemplate.baseUri())) {
+      requestSpecBuilder.setBaseUri(requestTemplate.baseUri());
+    }
+    if (requestTemplate.headers() != null && !requestTemplate.headers().isEmpty()) {
+      requestSpecBuilder.addHeaders(requestTemplate.headers());
+    }
+    if (StringUtils.isNotBlank(requestTemplate.username())) {
+      requestSpecBuilder.setAuth(
+          RestAssured.preemptive().basic(requestTemplate.username(), requestTemplate.password()));
+    }
+    return requestSpecBuilder.build();
+  }
+
+  private static Response readResponseBody(
+      FilterableRequestSpecification requestSpecification,
+      FilterableResponseSpecification responseSpecification,
+      FilterContext filterContext) {
+    var response = filterContext.next(requestSpecification, responseSpecification);
+    // Reading the body hands the pooled connection back for keep-alive reuse
+    if (!isStreamingResponseBody(filterContext)) {
+      response.asByteArray();
+    }
+    return response;
+  }
+
+  static Response streamResponseBody(
+      FilterableRequestSpecification requestSpecification,
+      FilterableResponseSpecification responseSpecification,
+      FilterContext filterContext) {
+    filterContext.setValue(STREAM_RESPONSE_BODY, Boolean.TRUE);
+    return filterContext.next(requestSpecification, responseSpecification);
+  }
+
+  static boolean isStreamingResponseBody(FilterContext filterContext) {
+    return Boolean.TRUE.equals(filterContext.getValue(STREAM_RESPONSE_BODY));
+  }
+
+  private static RequestTemplate loadRequestTemplate(String templateName) {
+    var propertyPrefix = String.format("rest-template.%s.", templateName);
+    var headers = new LinkedHashMap<String, String>();
+    for (var header :
+        StringUtils.split(
+            FileUtils.getPropertyValue(propertyPrefix + "headers"), COMMA_SEPARATOR)) {
+      headers.put(
+          StringUtils.substringBefore(header, COLON_SEPARATOR).trim(),
+          StringUtils.substringAfter(header, COLON_SEPARATOR).trim());
+    }
+    var requestTemplate =
+        RequestTemplate.of(templateName, FileUtils.getPropertyValue(propertyPrefix + "base-uri"))
+            .withHeaders(headers)
+            .withBasicAuth(
+                StringUtils.trimToNull(FileUtils.getPropertyValue(propertyPrefix + "username")),
+                FileUtils.getPropertyValue(propertyPrefix + "password"));
+    var connectTimeout = FileUtils.getPropertyValue(propertyPrefix + "connect-timeout-ms");
+    var readTimeout = FileUtils.getPropertyValue(propertyPrefix + "read-timeout-ms");
+    if (StringUtils.isNotBlank(connectTimeout) && StringUtils.isNotBlank(readTimeout)) {
+      requestTemplate =
+          requestTemplate.withTimeouts(
+              Duration.ofMillis(NumberUtils.toLong(connectTimeout)),
+              Duration.ofMillis(NumberUtils.toLong(readTimeout)));
+    }
+    return requestTemplate;
+  }
+}
@@ -0,0 +1,22 @@
+package org.company.restapi;
+
+import io.restassured.response.Response;
+import java.time.Duration;
+import java.util.Objects;
+import org.company.exception.AutomationException;
+
+public record RestCallResult(
+    RestRequest request, Response response, Throwable failure, Duration elapsedTime) {
+
+  public boolean isSuccess() {
+    return Objects.isNull(failure);
+  }
+
+  public Response getResponseOrThrow() {
+    if (!isSuccess()) {
+      throw new AutomationException(
+          String.format("%s call to %s failed", request.requestType(), request.url()), failure);
+    }
+    return response;
+  }
+}
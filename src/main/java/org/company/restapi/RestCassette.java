@@ -0,0 +1,349 @@
+package org.company.restapi;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.commons.lang3.StringUtils;
+import org.company.exception.AutomationException;
+import org.company.util.ConfigRegistry;
+import org.company.util.LogUtils;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Records responses to and replays them from a cassette file. On replay, repeated identical
+ * requests get their responses in the order the same scenario recorded them, positions are kept per
+ * scenario run so parallel scenarios do not take each other's responses.
+ */
+class RestCassette implements AutoCloseable {
+
+  private static final String COMMA_SEPARATOR = ",";
+  private static final String HEADER_RULE_PREFIX = "header:";
+  private static final String CASSETTE_EXTENSION = ".jsonl";
+  private static final String SCENARIO_SEPARATOR = "\n";
+
+  private static final ThreadLocal<ScenarioTrack> SCENARIO_TRACK =
+      ThreadLocal.withInitial(() -> new ScenarioTrack(StringUtils.EMPTY));
+  private static final RestCassette DEFAULT_CASSETTE =
+      new RestCassette(
+          getMode(),
+          Paths.get(
+              StringUtils.defaultIfBlank(
+                  ConfigRegistry.getString("rest-cassette-dir"), "src/test/resources/cassettes"),
+              StringUtils.defaultIfBlank(ConfigRegistry.getString("rest-cassette-name"), "default")
+                  + CASSETTE_EXTENSION),
+          StringUtils.defaultIfBlank(
+              ConfigRegistry.getString("rest-cassette-match"), "method,url,query,body"),
+          !"lenient"
+              .equalsIgnoreCase(ConfigRegistry.getString("rest-cassette-miss-policy").trim()));
+
+  private final Mode mode;
+  private final Path cassetteFile;
+  private final List<String> matchRules;
+  private final boolean strictReplay;
+  private final Map<String, List<JSONObject>> recordedResponses = new HashMap<>();
+  private BufferedWriter cassetteWriter;
+
+  enum Mode {
+    OFF,
+    RECORD,
+    REPLAY
+  }
+
+  /** Replay positions of one scenario run, shared with the async calls it makes. */
+  record ScenarioTrack(String scenarioId, Map<String, AtomicInteger> replayPositions) {
+
+    private ScenarioTrack(String scenarioId) {
+      this(scenarioId, new ConcurrentHashMap<>());
+    }
+  }
+
+  RestCassette(Mode mode, Path cassetteFile, String matchRules, boolean strictReplay) {
+    this.mode = mode;
+    this.cassetteFile = cassetteFile;
+    this.matchRules =
+        Arrays.stream(StringUtils.split(matchRules, COMMA_SEPARATOR)).map(String::trim).toList();
+    this.strictReplay = strictReplay;
+    if (mode == Mode.REPLAY) {
+      loadCassette();
+    } else if (mode == Mode.RECORD) {
+      openCassette();
+    }
+  }
+
+  static RestCassette getDefault() {
+    return DEFAULT_CASSETTE;
+  }
+
+  static void startScenario(String scenarioId) {
+    SCENARIO_TRACK.set(new ScenarioTrack(StringUtils.defaultString(scenarioId)));
+  }
+
+  static ScenarioTrack getScenarioTrack() {
+    return SCENARIO_TRACK.get();
+  }
+
+  static <T> T inScenario(ScenarioTrack scenarioTrack, Supplier<T> supplier) {
+    var callerTrack = SCENARIO_TRACK.get();
+    SCENARIO_TRACK.set(scenarioTrack);
+    try {
+      return supplier.get();
+    } finally {
+      SCENARIO_TRACK.set(callerTrack);
+    }
+  }
+
+  boolean isEnabled() {
+    return mode != Mode.OFF;
+  }
+
+  Response intercept(
+      FilterableRequestSpecification requestSpecification,
+      FilterableResponseSpecification responseSpecification,
+      FilterContext filterContext) {
+    if (mode == Mode.REPLAY) {
+      var matchKey = getMatchKey(requestSpecification);
+      var recordedResponse = getRecordedResponse(matchKey);
+      if (recordedResponse != null) {
+        return toResponse(recordedResponse);
+      }
+      var request = StringUtils.replace(matchKey.trim(), "\n", ", ");
+      if (strictReplay) {
+        throw new AutomationException(
+            String.format("No recorded response in %s for %s", cassetteFile, request));
+      }
+      LogUtils.debug("No recorded response for {}, calling the api", request);
+      return filterContext.next(requestSpecification, responseSpecification);
+    }
+    var startTime = System.nanoTime();
+    var response = filterContext.next(requestSpecification, responseSpecification);
+    record(requestSpecification, response, (System.nanoTime() - startTime) / 1_000_000L);
+    return response;
+  }
+
+  @Override
+  public synchronized void close() {
+    if (cassetteWriter != null) {
+      try {
+        cassetteWriter.close();
+      } catch (IOException e) {
+        LogUtils.warn("Unable to close cassette {}", cassetteFile);
+      }
+      cassetteWriter = null;
+    }
+  }
+
+  private static Mode getMode() {
+    var mode = ConfigRegistry.getString("rest-cassette-mode").trim();
+    for (var value : Mode.values()) {
+      if (value.name().equalsIgnoreCase(mode)) {
+        return value;
+      }
+    }
+    return Mode.OFF;
+  }
+
+  private JSONObject getRecordedResponse(String matchKey) {
+    var scenarioTrack = SCENARIO_TRACK.get();
+    var responseKey = scenarioTrack.scenarioId() + SCENARIO_SEPARATOR + matchKey;
+    var responses = recordedResponses.get(responseKey);
+    if (responses == null) {
+      responseKey = matchKey;
+      responses = recordedResponses.get(matchKey);
+    }
+    if (responses == null) {
+      return null;
+    }
+    var position =
+        scenarioTrack
+            .replayPositions()
+            .computeIfAbsent(responseKey, key -> new AtomicInteger())
+            .getAndIncrement();
+    return responses.get(Math.min(position, responses.size() - 1));
+  }
+
+  private static Response toResponse(JSONObject recordedResponse) {
+    var headers = new ArrayList<Header>();
+    var recordedHeaders = recordedResponse.getJSONArray("headers");
+    for (int i = 0; i < recordedHeaders.length(); i++) {
+      var recordedHeader = recordedHeaders.getJSONArray(i);
+      headers.add(new Header(recordedHeader.getString(0), recordedHeader.getString(1)));
+    }
+    var responseBuilder =
+        new ResponseBuilder()
+            .setStatusCode(recordedResponse.getInt("status"))
+            .setStatusLine(recordedResponse.optString("statusLine"))
+            .setHeaders(new Headers(headers))
+            .setBody(recordedResponse.optString("body"));
+    if (recordedResponse.has("contentType")) {
+      responseBuilder.setContentType(recordedResponse.getString("contentType"));
+    }
+    return responseBuilder.build();
+  }
+
+  private synchronized void record(
+      FilterableRequestSpecification requestSpecification, Response response, long timeInMillis) {
+    var headers = new JSONArray();
+    response
+        .getHeaders()
+        .forEach(
+            header -> headers.put(new JSONArray().put(header.getName()).put(header.getValue())));
+    var recordedResponse =
+        new JSONObject()
+            .put("status", response.getStatusCode())
+            .put("statusLine", response.getStatusLine())
+            .put("headers", headers)
+            .put("contentType", response.getContentType())
+            .put("body", response.asString())
+            .put("timeMs", timeInMillis);
+    var interaction =
+        new JSONObject()
+            .put("scenario", SCENARIO_TRACK.get().scenarioId())
+            .put("method", requestSpecification.getMethod())
+            .put("uri", requestSpecification.getURI())
+            .put("headers", new JSONObject(toMap(requestSpecification.getHeaders())))
+            .put("body", getRequestBody(requestSpecification))
+            .put("response", recordedResponse);
+    try {
+      cassetteWriter.write(interaction.toString());
+      cassetteWriter.newLine();
+      cassetteWriter.flush();
+    } catch (IOException e) {
+      LogUtils.error(String.format("Unable to record response to %s", cassetteFile), e);
+    }
+  }
+
+  private String getMatchKey(FilterableRequestSpecification requestSpecification) {
+    var headers = requestSpecification.getHeaders();
+    return getMatchKey(
+        requestSpecification.getMethod(),
+        requestSpecification.getURI(),
+        name ->
+            headers.hasHeaderWithName(name)
+                ? String.join(COMMA_SEPARATOR, headers.getValues(name))
+                : null,
+        getRequestBody(requestSpecification));
+  }
+
+  private String getMatchKey(
+      String method, String uri, Function<String, String> headers, String body) {
+    var matchKey = new StringBuilder();
+    for (var matchRule : matchRules) {
+      var value =
+          switch (matchRule) {
+            case "method" -> method;
+            case "url" -> StringUtils.substringBefore(uri, "?");
+            case "query" -> String.join("&", sorted(StringUtils.substringAfter(uri, "?")));
+            case "body" -> body;
+            default -> matchRule.startsWith(HEADER_RULE_PREFIX)
+                ? headers.apply(StringUtils.removeStart(matchRule, HEADER_RULE_PREFIX))
+                : null;
+          };
+      matchKey.append(matchRule).append('=').append(Objects.toString(value, "")).append('\n');
+    }
+    return matchKey.toString();
+  }
+
+  private String getMatchKey(JSONObject interaction) {
+    var headers = new TreeMap<String, String>(String.CASE_INSENSITIVE_ORDER);
+    var recordedHeaders = interaction.getJSONObject("headers");
+    recordedHeaders.keySet().forEach(name -> headers.put(name, recordedHeaders.getString(name)));
+    return getMatchKey(
+        interaction.getString("method"),
+        interaction.getString("uri"),
+        headers::get,
+        interaction.optString("body"));
+  }
+
+  private static List<String> sorted(String query) {
+    var queryParams = new ArrayList<>(Arrays.asList(StringUtils.split(query, "&")));
+    queryParams.sort(null);
+    return queryParams;
+  }
+
+  private static String getRequestBody(FilterableRequestSpecification requestSpecification) {
+    Object body = requestSpecification.getBody();
+    if (body instanceof byte[] bytes) {
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+    return Objects.toString(body, "");
+  }
+
+  private static Map<String, String> toMap(Headers headers) {
+    var headerMap = new HashMap<String, String>();
+    headers.forEach(
+        header ->
+            headerMap.merge(
+                header.getName(), header.getValue(), (a, b) -> a + COMMA_SEPARATOR + b));
+    return headerMap;
+  }
+
+  private void loadCassette() {
+    if (!Files.isRegularFile(cassetteFile)) {
+      LogUtils.warn("Cassette {} does not exist", cassetteFile);
+      return;
+    }
+    var interactionCount = new AtomicInteger();
+    try (var lines = Files.lines(cassetteFile)) {
+      lines
+          .filter(StringUtils::isNotBlank)
+          .map(JSONObject::new)
+          .forEach(
+              interaction -> {
+                addRecordedResponse(interaction);
+                interactionCount.incrementAndGet();
+              });
+    } catch (IOException e) {
+      LogUtils.error(String.format("Unable to read cassette %s", cassetteFile), e);
+    }
+    LogUtils.debug("Cassette {} loaded with {} requests", cassetteFile, interactionCount.get());
+  }
+
+  private void addRecordedResponse(JSONObject interaction) {
+    var matchKey = getMatchKey(interaction);
+    var response = interaction.getJSONObject("response");
+    recordedResponses.computeIfAbsent(matchKey, key -> new ArrayList<>()).add(response);
+    recordedResponses
+        .computeIfAbsent(
+            interaction.optString("scenario") + SCENARIO_SEPARATOR + matchKey,
+            key -> new ArrayList<>())
+        .add(response);
+  }
+
+  private void openCassette() {
+    try {
+      Files.createDirectories(cassetteFile.toAbsolutePath().getParent());
+      cassetteWriter =
+          Files.newBufferedWriter(
+              cassetteFile,
+              StandardOpenOption.CREATE,
+              StandardOpenOption.TRUNCATE_EXISTING,
+              StandardOpenOption.WRITE);
+    } catch (IOException e) {
+      LogUtils.error(String.format("Unable to open cassette %s", cassetteFile), e);
+    }
+    LogUtils.debug("Recording responses to cassette {}", cassetteFile);
+  }
+}
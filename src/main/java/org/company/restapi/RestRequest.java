@@ -0,0 +1,42 @@
+package org.company.restapi;
+
+import java.util.Map;
+
+public record RestRequest(
+    RequestType requestType,
+    String url,
+    Map<String, String> headers,
+    Map<String, String> queryParams,
+    Map<String, String> pathParams,
+    String requestBody,
+    String templateName) {
+
+  public static RestRequest of(RequestType requestType, String url) {
+    return new RestRequest(requestType, url, null, null, null, null, null);
+  }
+
+  public RestRequest withHeaders(Map<String, String> headers) {
+    return new RestRequest(
+        requestType, url, headers, queryParams, pathParams, requestBody, templateName);
+  }
+
+  public RestRequest withQueryParams(Map<String, String> queryParams) {
+    return new RestRequest(
+        requestType, url, headers, queryParams, pathParams, requestBody, templateName);
+  }
+
+  public RestRequest withPathParams(Map<String, String> pathParams) {
+    return new RestRequest(
+        requestType, url, headers, queryParams, pathParams, requestBody, templateName);
+  }
+
+  public RestRequest withRequestBody(String requestBody) {
+    return new RestRequest(
+        requestType, url, headers, queryParams, pathParams, requestBody, templateName);
+  }
+
+  public RestRequest withTemplate(String templateName) {
+    return new RestRequest(
+        requestType, url, headers, queryParams, pathParams, requestBody, templateName);
+  }
+}
@@ -4,8 +4,12 @@ import static io.restassured.RestAssured.given;
 
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.apache.commons.lang3.StringUtils;
+import org.company.util.ConfigRegistry;
 import org.company.util.LogUtils;
 import org.company.util.MapUtils;
 
@@ -39,8 +43,17 @@ public class RestService {
 
   public static Response callPostEndpoint(
       String url, Map<String, String> headers, String requestBody) {
+    return callPostEndpoint(url, headers, null, null, requestBody);
+  }
+
+  public static Response callPostEndpoint(
+      String url,
+      Map<String, String> headers,
+      Map<String, String> queryParams,
+      Map<String, String> pathParams,
+      String requestBody) {
     LogUtils.debug("Calling POST api with url", url);
-    return getRequestSpecification(headers, null, null).body(requestBody).post(url);
+    return getRequestSpecification(headers, queryParams, pathParams).body(requestBody).post(url);
   }
 
   public static Response callPutEndpoint(String url, String requestBody) {
@@ -105,11 +118,79 @@ public class RestService {
         .delete(url);
   }
 
+  public static Response callEndpoint(RestRequest request) {
+    return callEndpoint(request, false);
+  }
+
+  /**
+   * Calls the endpoint without reading the response body, {@code response.asInputStream()} then
+   * reads it straight from the connection. The body can be read only once.
+   */
+  public static Response callEndpointStreaming(RestRequest request) {
+    return callEndpoint(request, true);
+  }
+
+  private static Response callEndpoint(RestRequest request, boolean streamResponseBody) {
+    LogUtils.debug("Calling {} api with url {}", request.requestType(), request.url());
+    var requestSpecification =
+        getRequestSpecification(
+            request.templateName(), request.headers(), request.queryParams(), request.pathParams());
+    if (streamResponseBody) {
+      requestSpecification.filter(RequestTemplates::streamResponseBody);
+    }
+    if (request.requestType() != RequestType.GET && StringUtils.isNotBlank(request.requestBody())) {
+      requestSpecification.body(request.requestBody());
+    }
+    return switch (request.requestType()) {
+      case GET -> requestSpecification.get(request.url());
+      case POST -> requestSpecification.post(request.url());
+      case PUT -> requestSpecification.put(request.url());
+      case PATCH -> requestSpecification.patch(request.url());
+      case DELETE -> requestSpecification.delete(request.url());
+    };
+  }
+
+  public static CompletableFuture<Response> callEndpointAsync(RestRequest request) {
+    return AsyncRestExecutor.submit(request, RestService::callEndpoint);
+  }
+
+  public static CompletableFuture<Response> callGetEndpointAsync(String url) {
+    return callEndpointAsync(RestRequest.of(RequestType.GET, url));
+  }
+
+  public static CompletableFuture<Response> callGetEndpointAsync(
+      String url, Map<String, String> headers) {
+    return callEndpointAsync(RestRequest.of(RequestType.GET, url).withHeaders(headers));
+  }
+
+  public static List<RestCallResult> callEndpoints(List<RestRequest> requests) {
+    return callEndpoints(
+        requests,
+        ConfigRegistry.getInt("rest-batch-max-concurrency", 0),
+        ConfigRegistry.getDuration("rest-batch-timeout-ms", Duration.ZERO));
+  }
+
+  public static List<RestCallResult> callEndpoints(
+      List<RestRequest> requests, int maxConcurrency, Duration timeout) {
+    LogUtils.debug(
+        "Calling {} api endpoints with max concurrency {}", requests.size(), maxConcurrency);
+    return AsyncRestExecutor.invokeAll(
+        requests, RestService::callEndpoint, maxConcurrency, timeout);
+  }
+
   private static RequestSpecification getRequestSpecification(
       Map<String, String> headers,
       Map<String, String> queryParams,
       Map<String, String> pathParams) {
-    var requestSpecification = given();
+    return getRequestSpecification(null, headers, queryParams, pathParams);
+  }
+
+  private static RequestSpecification getRequestSpecification(
+      String templateName,
+      Map<String, String> headers,
+      Map<String, String> queryParams,
+      Map<String, String> pathParams) {
+    var requestSpecification = given().spec(RequestTemplates.getRequestSpecification(templateName));
     if (!MapUtils.isNullOrEmpty(headers)) {
       requestSpecification.headers(headers);
     }
@@ -122,8 +203,16 @@ public class RestService {
     return requestSpecification.when();
   }
 
+  /**
+   * Starts replay positions for a new scenario, so a cassette replays the responses this scenario
+   * recorded in the order it recorded them.
+   */
+  public static void startCassetteScenario(String scenarioId) {
+    RestCassette.startScenario(scenarioId);
+  }
+
   public static void printResponseBody(Response response) {
-    LogUtils.debug("Response body", getResponseBody(response));
+    LogUtils.debug("Response body", () -> getResponseBody(response));
   }
 
   public static String getResponseBody(Response response) {
@@ -131,22 +220,24 @@ public class RestService {
   }
 
   public static void printResponseHeaders(Response response) {
-    LogUtils.debug("Response headers", response.getHeaders().asList());
+    LogUtils.debug("Response headers", () -> response.getHeaders().asList());
   }
 
   public static void printCompleteResponse(Response response) {
-    var completeResponse =
-        new StringBuilder()
-            .append("\n")
-            .append("Status code: ")
-            .append(response.getStatusCode())
-            .append("\n")
-            .append("Body: ")
-            .append(response.getBody().asPrettyString())
-            .append("\n")
-            .append("Headers: ")
-            .append(response.getHeaders().asList())
-            .toString();
-    LogUtils.debug("Response", completeResponse);
+    LogUtils.debug("Response", () -> getCompleteResponse(response));
+  }
+
+  private static String getCompleteResponse(Response response) {
+    return new StringBuilder()
+        .append("\n")
+        .append("Status code: ")
+        .append(response.getStatusCode())
+        .append("\n")
+        .append("Body: ")
+        .append(response.getBody().asPrettyString())
+        .append("\n")
+        .append("Headers: ")
+        .append(response.getHeaders().asList())
+        .toString();
   }
 }
@@ -0,0 +1,122 @@
+package org.company.util;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.company.exception.AutomationException;
+
+public class ConfigRegistry {
+
+  public static final String SERVICE_CONFIG = "service-config.properties";
+
+  private static final Map<String, Map<String, String>> SNAPSHOTS = new ConcurrentHashMap<>();
+
+  public static String getString(String key) {
+    return getString(SERVICE_CONFIG, key);
+  }
+
+  public static String getString(String fileName, String key) {
+    return getSnapshot(fileName).getOrDefault(key, StringUtils.EMPTY);
+  }
+
+  public static int getInt(String key, int defaultValue) {
+    return NumberUtils.toInt(getString(key).trim(), defaultValue);
+  }
+
+  public static long getLong(String key, long defaultValue) {
+    return NumberUtils.toLong(getString(key).trim(), defaultValue);
+  }
+
+  public static boolean getBoolean(String key, boolean defaultValue) {
+    var value = getString(key).trim();
+    return StringUtils.isBlank(value) ? defaultValue : Boolean.parseBoolean(value);
+  }
+
+  public static Duration getDuration(String key, Duration defaultValue) {
+    var value = getString(key).trim();
+    if (StringUtils.isBlank(value)) {
+      return defaultValue;
+    }
+    if (NumberUtils.isDigits(value)) {
+      return Duration.ofMillis(Long.parseLong(value));
+    }
+    try {
+      return Duration.parse(value);
+    } catch (DateTimeParseException e) {
+      LogUtils.warn("Invalid duration {} for {}", value, key);
+      return defaultValue;
+    }
+  }
+
+  public static Map<String, String> getSnapshot(String fileName) {
+    var snapshot = SNAPSHOTS.get(fileName);
+    return snapshot != null ? snapshot : loadSnapshot(fileName);
+  }
+
+  public static void reload() {
+    reload(SERVICE_CONFIG);
+  }
+
+  public static void reload(String fileName) {
+    synchronized (SNAPSHOTS) {
+      SNAPSHOTS.put(fileName, readSnapshot(fileName));
+    }
+    if (SERVICE_CONFIG.equals(fileName)) {
+      LogUtils.reloadLogLevel();
+    }
+    LogUtils.debug("{} reloaded successfully", fileName);
+  }
+
+  private static Map<String, String> loadSnapshot(String fileName) {
+    Map<String, String> snapshot;
+    synchronized (SNAPSHOTS) {
+      snapshot = SNAPSHOTS.get(fileName);
+      if (snapshot != null) {
+        return snapshot;
+      }
+      snapshot = readSnapshot(fileName);
+      SNAPSHOTS.put(fileName, snapshot);
+    }
+    LogUtils.debug("{} loaded successfully", fileName);
+    return snapshot;
+  }
+
+  private static Map<String, String> readSnapshot(String fileName) {
+    var properties = new Properties();
+    try (var propertiesFileInpStream =
+        ConfigRegistry.class.getClassLoader().getResourceAsStream(fileName)) {
+      if (propertiesFileInpStream == null) {
+        throw new AutomationException(String.format("Unable to find %s on classpath", fileName));
+      }
+      properties.load(propertiesFileInpStream);
+    } catch (IOException e) {
+      LogUtils.error(String.format("Unable to read %s", fileName), e);
+    }
+    var snapshot = new HashMap<String, String>();
+    properties
+        .stringPropertyNames()
+        .forEach(key -> snapshot.put(key, getOverriddenValue(key, properties.getProperty(key))));
+    return Map.copyOf(snapshot);
+  }
+
+  private static String getOverriddenValue(String key, String value) {
+    var systemPropertyValue = System.getProperty(key);
+    if (systemPropertyValue != null) {
+      return systemPropertyValue;
+    }
+    var environmentValue = System.getenv(toEnvironmentVariableName(key));
+    return environmentValue != null ? environmentValue : value;
+  }
+
+  private static String toEnvironmentVariableName(String key) {
+    return key.replaceAll("([a-z0-9])([A-Z])", "$1_$2")
+        .replaceAll("[^A-Za-z0-9]", "_")
+        .toUpperCase();
+  }
+}
@@ -0,0 +1,159 @@
+package org.company.util;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+public class ExpiringCache<K, V> {
+
+  private final long ttlInNanos;
+  private final int maxSize;
+  private final LongSupplier nanoTime;
+  private final ConcurrentHashMap<K, CacheEntry<V>> cacheEntries = new ConcurrentHashMap<>();
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder evictionCount = new LongAdder();
+
+  public ExpiringCache(Duration ttl) {
+    this(ttl, Integer.MAX_VALUE);
+  }
+
+  public ExpiringCache(Duration ttl, int maxSize) {
+    this(ttl, maxSize, System::nanoTime);
+  }
+
+  ExpiringCache(Duration ttl, int maxSize, LongSupplier nanoTime) {
+    this.ttlInNanos = ttl.toNanos();
+    this.maxSize = Math.max(maxSize, 1);
+    this.nanoTime = nanoTime;
+  }
+
+  public V get(K key, Function<? super K, ? extends V> loader) {
+    var now = nanoTime.getAsLong();
+    var cacheEntry = cacheEntries.get(key);
+    if (cacheEntry != null && !cacheEntry.isExpired(now, ttlInNanos)) {
+      hitCount.increment();
+    } else {
+      var newCacheEntry = new CacheEntry<V>();
+      cacheEntry =
+          cacheEntries.compute(
+              key,
+              (k, currentCacheEntry) ->
+                  currentCacheEntry == null || currentCacheEntry.isExpired(now, ttlInNanos)
+                      ? newCacheEntry
+                      : currentCacheEntry);
+      if (cacheEntry == newCacheEntry) {
+        missCount.increment();
+        evictIfFull(now);
+        load(key, newCacheEntry, loader);
+      } else {
+        hitCount.increment();
+      }
+    }
+    return cacheEntry.getValue();
+  }
+
+  public void invalidate(K key) {
+    cacheEntries.remove(key);
+  }
+
+  public void invalidateIf(Predicate<? super K> predicate) {
+    cacheEntries.keySet().removeIf(predicate);
+  }
+
+  public void invalidateAll() {
+    cacheEntries.clear();
+  }
+
+  public int size() {
+    return cacheEntries.size();
+  }
+
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.sum();
+  }
+
+  private void evictIfFull(long now) {
+    if (cacheEntries.size() <= maxSize) {
+      return;
+    }
+    cacheEntries
+        .values()
+        .removeIf(
+            cacheEntry -> {
+              if (!cacheEntry.isExpired(now, ttlInNanos)) {
+                return false;
+              }
+              evictionCount.increment();
+              return true;
+            });
+    while (cacheEntries.size() > maxSize) {
+      var oldestEntry =
+          cacheEntries.entrySet().stream()
+              .filter(entry -> entry.getValue().loaded)
+              .min(
+                  (entry1, entry2) ->
+                      Long.compare(entry1.getValue().loadedAt, entry2.getValue().loadedAt));
+      if (oldestEntry.isEmpty()) {
+        return;
+      }
+      if (cacheEntries.remove(oldestEntry.get().getKey(), oldestEntry.get().getValue())) {
+        evictionCount.increment();
+      }
+    }
+  }
+
+  private void load(K key, CacheEntry<V> cacheEntry, Function<? super K, ? extends V> loader) {
+    try {
+      var loadedValue = loader.apply(key);
+      cacheEntry.complete(loadedValue, nanoTime.getAsLong());
+    } catch (RuntimeException | Error e) {
+      cacheEntries.remove(key, cacheEntry);
+      cacheEntry.value.completeExceptionally(e);
+    }
+  }
+
+  private static final class CacheEntry<V> {
+
+    private final CompletableFuture<V> value = new CompletableFuture<>();
+    private volatile long loadedAt;
+    private volatile boolean loaded;
+
+    private void complete(V loadedValue, long now) {
+      loadedAt = now;
+      loaded = true;
+      value.complete(loadedValue);
+    }
+
+    private boolean isExpired(long now, long ttlInNanos) {
+      return loaded && now - loadedAt >= ttlInNanos;
+    }
+
+    private V getValue() {
+      try {
+        return value.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+          throw runtimeException;
+        }
+        if (e.getCause() instanceof Error error) {
+          throw error;
+        }
+        throw e;
+      }
+    }
+  }
+}
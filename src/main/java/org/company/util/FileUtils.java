@@ -9,27 +9,12 @@ import org.json.JSONObject;
 
 public class FileUtils {
 
-  private static Properties serviceConfig;
-
-  static {
-    serviceConfig = new Properties();
-    var propertiesFileInpStream =
-        FileUtils.class.getClassLoader().getResourceAsStream("service-config.properties");
-    try {
-      serviceConfig.load(propertiesFileInpStream);
-      LogUtils.debug("Service config loaded successfully");
-    } catch (IOException e) {
-      LogUtils.error("Unable to read service config", e);
-    }
-  }
-
   public static String getPropertyValue(String propertyKey) {
-    return serviceConfig.getProperty(propertyKey, StringUtils.EMPTY);
+    return ConfigRegistry.getString(propertyKey);
   }
 
   public static String getPropertyValue(String propertyFileName, String propertyKey) {
-    Properties properties = loadProperties(propertyFileName);
-    return properties.getProperty(propertyKey, StringUtils.EMPTY);
+    return ConfigRegistry.getString(propertyFileName, propertyKey);
   }
 
   public static String getPropertyValue(Properties properties, String propertyKey) {
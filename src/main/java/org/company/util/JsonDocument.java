@@ -0,0 +1,136 @@
+package org.company.util;
+
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import org.apache.commons.lang3.StringUtils;
+import org.company.exception.AutomationException;
+
+public class JsonDocument {
+
+  private static final String DOT_SYMBOL = ".";
+  private static final Pattern SIMPLE_PATH = Pattern.compile("[\\w$-]+(\\.[\\w$-]+)*");
+  private static final ThreadLocal<ParsedResponse> LAST_PARSED_RESPONSE = new ThreadLocal<>();
+
+  private final String json;
+  private final Object root;
+  private final Map<String, Boolean> keyIndex;
+  private JsonPath jsonPath;
+
+  private record ParsedResponse(Response response, JsonDocument jsonDocument) {}
+
+  private JsonDocument(String json) {
+    this.json = json;
+    var trimmedJson = StringUtils.trimToEmpty(json);
+    if (!trimmedJson.startsWith("{") && !trimmedJson.startsWith("[")) {
+      throw new AutomationException("Invalid json");
+    }
+    this.root = toUnmodifiable(JsonPath.from(trimmedJson).get());
+    var index = new HashMap<String, Boolean>();
+    indexKeys(root, StringUtils.EMPTY, index);
+    this.keyIndex = Collections.unmodifiableMap(index);
+  }
+
+  /**
+   * Parses the response body once for the consecutive lookups a scenario makes on the same
+   * response, remembering only the last response parsed on the current thread.
+   */
+  public static JsonDocument of(Response response) {
+    var parsedResponse = LAST_PARSED_RESPONSE.get();
+    if (parsedResponse == null || parsedResponse.response() != response) {
+      parsedResponse = new ParsedResponse(response, new JsonDocument(response.asString()));
+      LAST_PARSED_RESPONSE.set(parsedResponse);
+    }
+    return parsedResponse.jsonDocument();
+  }
+
+  public static JsonDocument of(String json) {
+    return new JsonDocument(json);
+  }
+
+  public boolean isArray() {
+    return root instanceof List<?>;
+  }
+
+  public boolean isObject() {
+    return root instanceof Map<?, ?>;
+  }
+
+  public Object getRoot() {
+    return root;
+  }
+
+  public boolean hasKey(String jsonKey) {
+    return keyIndex.containsKey(jsonKey);
+  }
+
+  public boolean hasValueForKey(String jsonKey) {
+    return Boolean.TRUE.equals(keyIndex.get(jsonKey));
+  }
+
+  // Typed like JsonPath.get, the caller names the type it expects at the path
+  @SuppressWarnings("unchecked")
+  public <T> T get(String jsonPath) {
+    if (!SIMPLE_PATH.matcher(jsonPath).matches()) {
+      return getJsonPath().get(jsonPath);
+    }
+    Object value = root;
+    for (var pathSegment : StringUtils.split(jsonPath, DOT_SYMBOL)) {
+      value = getChild(value, pathSegment);
+    }
+    return (T) value;
+  }
+
+  private synchronized JsonPath getJsonPath() {
+    if (jsonPath == null) {
+      jsonPath = JsonPath.from(json);
+    }
+    return jsonPath;
+  }
+
+  private static Object getChild(Object node, String pathSegment) {
+    if (node instanceof Map<?, ?> map) {
+      return map.get(pathSegment);
+    }
+    if (node instanceof List<?> list) {
+      var values = new ArrayList<>(list.size());
+      list.forEach(element -> values.add(getChild(element, pathSegment)));
+      return values;
+    }
+    return null;
+  }
+
+  private static Object toUnmodifiable(Object node) {
+    if (node instanceof Map<?, ?> map) {
+      var values = new LinkedHashMap<Object, Object>();
+      map.forEach((key, value) -> values.put(key, toUnmodifiable(value)));
+      return Collections.unmodifiableMap(values);
+    }
+    if (node instanceof List<?> list) {
+      var values = new ArrayList<>(list.size());
+      list.forEach(element -> values.add(toUnmodifiable(element)));
+      return Collections.unmodifiableList(values);
+    }
+    return node;
+  }
+
+  private static void indexKeys(Object node, String parentPath, Map<String, Boolean> index) {
+    if (node instanceof Map<?, ?> map) {
+      map.forEach(
+          (key, value) -> {
+            var path = parentPath.isEmpty() ? key.toString() : parentPath + DOT_SYMBOL + key;
+            index.merge(path, Objects.nonNull(value), Boolean::logicalOr);
+            indexKeys(value, path, index);
+          });
+    } else if (node instanceof List<?> list) {
+      list.forEach(element -> indexKeys(element, parentPath, index));
+    }
+  }
+}
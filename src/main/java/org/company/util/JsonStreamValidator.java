@@ -0,0 +1,394 @@
+package org.company.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.restassured.response.Response;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import org.apache.commons.lang3.StringUtils;
+import org.assertj.core.api.Assertions;
+
+/**
+ * Validates a json body in a single pass over its tokens, so bodies larger than the heap can be
+ * checked without buffering them. Paths use the dot notation of {@link JsonDocument} and step
+ * through arrays, {@code $} is the root. Only the values a predicate or value check is applied to
+ * are materialized, one at a time. A list expected by a value check is compared with whole arrays.
+ */
+public class JsonStreamValidator {
+
+  private static final String ROOT_PATH = "$";
+  private static final String DOT_SYMBOL = ".";
+  private static final int MAX_REPORTED_VALUE_LENGTH = 200;
+  private static final Object UNREAD_VALUE = new Object();
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private final Map<String, List<Check>> checks = new LinkedHashMap<>();
+  private final Set<String> parentPaths = new HashSet<>();
+
+  public static JsonStreamValidator create() {
+    return new JsonStreamValidator();
+  }
+
+  public JsonStreamValidator hasKey(String jsonKey) {
+    return addCheck(new KeyCheck(jsonKey));
+  }
+
+  public JsonStreamValidator hasValue(String jsonKey, Object expectedValue) {
+    return addCheck(new ValueCheck(jsonKey, expectedValue));
+  }
+
+  public JsonStreamValidator hasCount(String jsonPath, long expectedCount) {
+    return addCheck(new CountCheck(jsonPath, expectedCount));
+  }
+
+  public JsonStreamValidator allMatch(String jsonPath, Predicate<Object> predicate) {
+    return allMatch(jsonPath, "predicate", predicate);
+  }
+
+  public JsonStreamValidator allMatch(
+      String jsonPath, String description, Predicate<Object> predicate) {
+    return addCheck(new PredicateCheck(jsonPath, description, predicate));
+  }
+
+  public void validate(Response response) {
+    validate(response.asInputStream());
+  }
+
+  public void validate(InputStream inputStream) {
+    checks.values().forEach(pathChecks -> pathChecks.forEach(Check::reset));
+    try (var parser = OBJECT_MAPPER.getFactory().createParser(inputStream)) {
+      if (parser.nextToken() == null) {
+        Assertions.fail("Json body is empty");
+      }
+      walk(parser, StringUtils.EMPTY);
+    } catch (IOException e) {
+      LogUtils.error("Unable to read json body", e);
+    }
+    var failures = new ArrayList<String>();
+    checks.values().forEach(pathChecks -> pathChecks.forEach(check -> check.addFailure(failures)));
+    if (!failures.isEmpty()) {
+      Assertions.fail(String.join(System.lineSeparator(), failures));
+    }
+  }
+
+  private JsonStreamValidator addCheck(Check check) {
+    checks.computeIfAbsent(check.path, path -> new ArrayList<>()).add(check);
+    var path = check.path;
+    if (!path.isEmpty()) {
+      parentPaths.add(StringUtils.EMPTY);
+    }
+    for (int i = path.indexOf(DOT_SYMBOL); i >= 0; i = path.indexOf(DOT_SYMBOL, i + 1)) {
+      parentPaths.add(path.substring(0, i));
+    }
+    return this;
+  }
+
+  private void walk(JsonParser parser, String path) throws IOException {
+    var token = parser.currentToken();
+    var pathChecks = checks.getOrDefault(path, List.of());
+    if (token == JsonToken.START_ARRAY) {
+      var arrayChecks = pathChecks.stream().filter(Check::needsArray).toList();
+      if (arrayChecks.isEmpty()) {
+        walkElements(parser, path);
+        return;
+      }
+      // a check on the whole array sees it once, its elements are still stepped through
+      var tokenBuffer = new TokenBuffer(parser);
+      tokenBuffer.copyCurrentStructure(parser);
+      try (var bufferedParser = tokenBuffer.asParser()) {
+        bufferedParser.nextToken();
+        var value = OBJECT_MAPPER.readValue(bufferedParser, Object.class);
+        arrayChecks.forEach(check -> check.onValue(value));
+      }
+      try (var bufferedParser = tokenBuffer.asParser()) {
+        bufferedParser.nextToken();
+        walkElements(bufferedParser, path);
+      }
+      return;
+    }
+    if (token != JsonToken.START_OBJECT) {
+      if (!pathChecks.isEmpty()) {
+        var value = getScalarValue(parser);
+        pathChecks.forEach(check -> check.onValue(value));
+      }
+      return;
+    }
+    if (pathChecks.stream().noneMatch(Check::needsValue)) {
+      pathChecks.forEach(check -> check.onValue(UNREAD_VALUE));
+      if (parentPaths.contains(path)) {
+        walkFields(parser, path);
+      } else {
+        parser.skipChildren();
+      }
+      return;
+    }
+    Object value;
+    if (parentPaths.contains(path)) {
+      var tokenBuffer = new TokenBuffer(parser);
+      tokenBuffer.copyCurrentStructure(parser);
+      try (var bufferedParser = tokenBuffer.asParser()) {
+        bufferedParser.nextToken();
+        value = OBJECT_MAPPER.readValue(bufferedParser, Object.class);
+      }
+      try (var bufferedParser = tokenBuffer.asParser()) {
+        bufferedParser.nextToken();
+        walkFields(bufferedParser, path);
+      }
+    } else {
+      value = OBJECT_MAPPER.readValue(parser, Object.class);
+    }
+    pathChecks.forEach(check -> check.onValue(value));
+  }
+
+  private void walkElements(JsonParser parser, String path) throws IOException {
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      walk(parser, path);
+    }
+  }
+
+  private void walkFields(JsonParser parser, String path) throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      var fieldName = parser.currentName();
+      var fieldPath = path.isEmpty() ? fieldName : path + DOT_SYMBOL + fieldName;
+      var token = parser.nextToken();
+      var fieldChecks = checks.get(fieldPath);
+      if (fieldChecks != null) {
+        fieldChecks.forEach(check -> check.onKey(token == JsonToken.VALUE_NULL));
+      }
+      if (fieldChecks != null || parentPaths.contains(fieldPath)) {
+        walk(parser, fieldPath);
+      } else {
+        parser.skipChildren();
+      }
+    }
+  }
+
+  private static Object getScalarValue(JsonParser parser) throws IOException {
+    return switch (parser.currentToken()) {
+      case VALUE_STRING -> parser.getText();
+      case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getNumberValue();
+      case VALUE_TRUE -> Boolean.TRUE;
+      case VALUE_FALSE -> Boolean.FALSE;
+      default -> null;
+    };
+  }
+
+  private static boolean isEqual(Object actualValue, Object expectedValue) {
+    if (actualValue instanceof Number actualNumber && expectedValue instanceof Number) {
+      try {
+        return new BigDecimal(actualNumber.toString())
+                .compareTo(new BigDecimal(expectedValue.toString()))
+            == 0;
+      } catch (NumberFormatException e) {
+        return actualValue.equals(expectedValue);
+      }
+    }
+    return Objects.equals(actualValue, expectedValue);
+  }
+
+  private static String toDisplayPath(String path) {
+    return path.isEmpty() ? ROOT_PATH : path;
+  }
+
+  private abstract static class Check {
+
+    private final String path;
+
+    private Check(String path) {
+      this.path = ROOT_PATH.equals(path) ? StringUtils.EMPTY : StringUtils.removeStart(path, "$.");
+    }
+
+    String getDisplayPath() {
+      return toDisplayPath(path);
+    }
+
+    boolean needsValue() {
+      return false;
+    }
+
+    boolean needsArray() {
+      return false;
+    }
+
+    void onKey(boolean nullValue) {}
+
+    abstract void onValue(Object value);
+
+    abstract void reset();
+
+    abstract void addFailure(List<String> failures);
+  }
+
+  private static class KeyCheck extends Check {
+
+    private long keyCount;
+    private long nullCount;
+
+    private KeyCheck(String jsonKey) {
+      super(jsonKey);
+    }
+
+    @Override
+    void onKey(boolean nullValue) {
+      keyCount++;
+      if (nullValue) {
+        nullCount++;
+      }
+    }
+
+    @Override
+    void onValue(Object value) {}
+
+    @Override
+    void reset() {
+      keyCount = 0;
+      nullCount = 0;
+    }
+
+    @Override
+    void addFailure(List<String> failures) {
+      if (keyCount == 0) {
+        failures.add(String.format("Key %s not found", getDisplayPath()));
+      } else if (nullCount > 0) {
+        failures.add(
+            String.format(
+                "Key %s is null in %s of %s occurrences", getDisplayPath(), nullCount, keyCount));
+      }
+    }
+  }
+
+  private static class ValueCheck extends Check {
+
+    private final Object expectedValue;
+    private boolean found;
+
+    private ValueCheck(String jsonKey, Object expectedValue) {
+      super(jsonKey);
+      this.expectedValue = expectedValue;
+    }
+
+    @Override
+    boolean needsValue() {
+      return expectedValue instanceof Map<?, ?>;
+    }
+
+    @Override
+    boolean needsArray() {
+      return expectedValue instanceof List<?>;
+    }
+
+    @Override
+    void onValue(Object value) {
+      if (!found && isEqual(value, expectedValue)) {
+        found = true;
+      }
+    }
+
+    @Override
+    void reset() {
+      found = false;
+    }
+
+    @Override
+    void addFailure(List<String> failures) {
+      if (!found) {
+        failures.add(String.format("Value %s not found for %s", expectedValue, getDisplayPath()));
+      }
+    }
+  }
+
+  private static class CountCheck extends Check {
+
+    private final long expectedCount;
+    private long count;
+
+    private CountCheck(String jsonPath, long expectedCount) {
+      super(jsonPath);
+      this.expectedCount = expectedCount;
+    }
+
+    @Override
+    void onValue(Object value) {
+      count++;
+    }
+
+    @Override
+    void reset() {
+      count = 0;
+    }
+
+    @Override
+    void addFailure(List<String> failures) {
+      if (count != expectedCount) {
+        failures.add(
+            String.format(
+                "Expected %s values for %s but found %s", expectedCount, getDisplayPath(), count));
+      }
+    }
+  }
+
+  private static class PredicateCheck extends Check {
+
+    private final String description;
+    private final Predicate<Object> predicate;
+    private long count;
+    private long mismatchCount;
+    private long firstMismatchIndex;
+    private String firstMismatch;
+
+    private PredicateCheck(String jsonPath, String description, Predicate<Object> predicate) {
+      super(jsonPath);
+      this.description = description;
+      this.predicate = predicate;
+    }
+
+    @Override
+    boolean needsValue() {
+      return true;
+    }
+
+    @Override
+    void onValue(Object value) {
+      if (!predicate.test(value) && mismatchCount++ == 0) {
+        firstMismatchIndex = count;
+        firstMismatch = StringUtils.abbreviate(String.valueOf(value), MAX_REPORTED_VALUE_LENGTH);
+      }
+      count++;
+    }
+
+    @Override
+    void reset() {
+      count = 0;
+      mismatchCount = 0;
+      firstMismatch = null;
+    }
+
+    @Override
+    void addFailure(List<String> failures) {
+      if (count == 0) {
+        failures.add(String.format("No values found for %s", getDisplayPath()));
+      } else if (mismatchCount > 0) {
+        failures.add(
+            String.format(
+                "%s of %s values for %s do not match %s, first at index %s: %s",
+                mismatchCount,
+                count,
+                getDisplayPath(),
+                description,
+                firstMismatchIndex,
+                firstMismatch));
+      }
+    }
+  }
+}
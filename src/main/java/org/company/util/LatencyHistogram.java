@@ -0,0 +1,96 @@
+package org.company.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log-linear latency histogram in microseconds, in the style of HdrHistogram. Every power of two
+ * range is split into 64 linear sub buckets, so recorded values keep two significant digits.
+ */
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 6;
+  private static final int SUB_BUCKET_HALF_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int SUB_BUCKET_COUNT = SUB_BUCKET_HALF_COUNT << 1;
+  private static final int MAX_SHIFT = 40;
+  private static final long MAX_VALUE = ((long) SUB_BUCKET_COUNT << MAX_SHIFT) - 1;
+
+  private final AtomicLongArray counts =
+      new AtomicLongArray((MAX_SHIFT + 1) * SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT);
+  private final LongAdder totalCount = new LongAdder();
+  private final LongAdder totalValue = new LongAdder();
+  private final AtomicLong maxValue = new AtomicLong();
+
+  public void record(Duration latency) {
+    recordMicros(latency.toNanos() / 1_000L);
+  }
+
+  public void recordMicros(long valueInMicros) {
+    var value = Math.min(Math.max(valueInMicros, 0L), MAX_VALUE);
+    counts.incrementAndGet(getIndex(value));
+    totalCount.increment();
+    totalValue.add(value);
+    if (value > maxValue.get()) {
+      maxValue.accumulateAndGet(value, Math::max);
+    }
+  }
+
+  public void add(LatencyHistogram histogram) {
+    for (int i = 0; i < counts.length(); i++) {
+      var count = histogram.counts.get(i);
+      if (count > 0) {
+        counts.addAndGet(i, count);
+      }
+    }
+    totalCount.add(histogram.totalCount.sum());
+    totalValue.add(histogram.totalValue.sum());
+    maxValue.accumulateAndGet(histogram.maxValue.get(), Math::max);
+  }
+
+  public long getCount() {
+    return totalCount.sum();
+  }
+
+  public Duration getMax() {
+    return Duration.ofNanos(maxValue.get() * 1_000L);
+  }
+
+  public Duration getMean() {
+    var count = totalCount.sum();
+    return count == 0 ? Duration.ZERO : Duration.ofNanos(totalValue.sum() * 1_000L / count);
+  }
+
+  public Duration getValueAtPercentile(double percentile) {
+    var count = totalCount.sum();
+    if (count == 0) {
+      return Duration.ZERO;
+    }
+    var countAtPercentile =
+        Math.max(1L, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * count));
+    var cumulativeCount = 0L;
+    for (int i = 0; i < counts.length(); i++) {
+      cumulativeCount += counts.get(i);
+      if (cumulativeCount >= countAtPercentile) {
+        return Duration.ofNanos(Math.min(getHighestValue(i), maxValue.get()) * 1_000L);
+      }
+    }
+    return getMax();
+  }
+
+  private static int getIndex(long value) {
+    var shift = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+    var subBucket = (int) (value >>> shift);
+    return shift == 0 ? subBucket : shift * SUB_BUCKET_HALF_COUNT + subBucket;
+  }
+
+  private static long getHighestValue(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    var shift = index / SUB_BUCKET_HALF_COUNT - 1;
+    var subBucket = index - shift * SUB_BUCKET_HALF_COUNT;
+    return ((long) (subBucket + 1) << shift) - 1;
+  }
+}
@@ -1,5 +1,7 @@
 package org.company.util;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
 import org.apache.commons.lang3.StringUtils;
 import org.company.exception.AutomationException;
@@ -8,58 +10,220 @@ import org.slf4j.LoggerFactory;
 
 public class LogUtils {
 
-  private static final String INFO = "INFO";
-  private static final String DEBUG = "DEBUG";
-  private static final String TRACE = "TRACE";
-  private static final String WARN = "WARN";
   private static final String LOG_PLACEHOLDER = "{}";
   private static final String COLON_SEPARATOR = " : ";
   private static final String DOT_REGEX = "\\.";
   private static final String DOT_SYMBOL = ".";
+  private static final Object[] NO_VALUES = new Object[0];
+
+  private static final StackWalker STACK_WALKER =
+      StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+  private static final ClassValue<ConcurrentHashMap<Integer, String>> CALLER_LOCATIONS =
+      new ClassValue<>() {
+        @Override
+        protected ConcurrentHashMap<Integer, String> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
 
   private static Logger logger = LoggerFactory.getLogger(LogUtils.class);
+  private static volatile Level configuredLogLevel;
+
+  private enum Level {
+    INFO,
+    DEBUG,
+    TRACE,
+    WARN,
+    OFF
+  }
+
+  public static boolean isInfoEnabled() {
+    return isEnabled(Level.INFO);
+  }
+
+  public static boolean isDebugEnabled() {
+    return isEnabled(Level.DEBUG);
+  }
+
+  public static boolean isTraceEnabled() {
+    return isEnabled(Level.TRACE);
+  }
+
+  public static boolean isWarnEnabled() {
+    return isEnabled(Level.WARN);
+  }
+
+  public static void info(String logStatement) {
+    if (isEnabled(Level.INFO)) {
+      print(getCallerMethod(), Level.INFO, logStatement, NO_VALUES);
+    }
+  }
+
+  public static void info(String logStatement, Object value) {
+    if (isEnabled(Level.INFO)) {
+      print(getCallerMethod(), Level.INFO, logStatement, value);
+    }
+  }
+
+  public static void info(String logStatement, Object value1, Object value2) {
+    if (isEnabled(Level.INFO)) {
+      print(getCallerMethod(), Level.INFO, logStatement, value1, value2);
+    }
+  }
 
   public static void info(String logStatement, Object... values) {
-    print(getCallerMethod(), INFO, logStatement, values);
+    if (isEnabled(Level.INFO)) {
+      print(getCallerMethod(), Level.INFO, logStatement, values);
+    }
+  }
+
+  public static void info(String logStatement, Supplier<?> valueSupplier) {
+    if (isEnabled(Level.INFO)) {
+      print(getCallerMethod(), Level.INFO, logStatement, valueSupplier.get());
+    }
+  }
+
+  public static void debug(String logStatement) {
+    if (isEnabled(Level.DEBUG)) {
+      print(getCallerMethod(), Level.DEBUG, logStatement, NO_VALUES);
+    }
+  }
+
+  public static void debug(String logStatement, Object value) {
+    if (isEnabled(Level.DEBUG)) {
+      print(getCallerMethod(), Level.DEBUG, logStatement, value);
+    }
+  }
+
+  public static void debug(String logStatement, Object value1, Object value2) {
+    if (isEnabled(Level.DEBUG)) {
+      print(getCallerMethod(), Level.DEBUG, logStatement, value1, value2);
+    }
   }
 
   public static void debug(String logStatement, Object... values) {
-    print(getCallerMethod(), DEBUG, logStatement, values);
+    if (isEnabled(Level.DEBUG)) {
+      print(getCallerMethod(), Level.DEBUG, logStatement, values);
+    }
+  }
+
+  public static void debug(String logStatement, Supplier<?> valueSupplier) {
+    if (isEnabled(Level.DEBUG)) {
+      print(getCallerMethod(), Level.DEBUG, logStatement, valueSupplier.get());
+    }
+  }
+
+  public static void trace(String logStatement) {
+    if (isEnabled(Level.TRACE)) {
+      print(getCallerMethod(), Level.TRACE, logStatement, NO_VALUES);
+    }
+  }
+
+  public static void trace(String logStatement, Object value) {
+    if (isEnabled(Level.TRACE)) {
+      print(getCallerMethod(), Level.TRACE, logStatement, value);
+    }
+  }
+
+  public static void trace(String logStatement, Object value1, Object value2) {
+    if (isEnabled(Level.TRACE)) {
+      print(getCallerMethod(), Level.TRACE, logStatement, value1, value2);
+    }
   }
 
   public static void trace(String logStatement, Object... values) {
-    print(getCallerMethod(), TRACE, logStatement, values);
+    if (isEnabled(Level.TRACE)) {
+      print(getCallerMethod(), Level.TRACE, logStatement, values);
+    }
+  }
+
+  public static void trace(String logStatement, Supplier<?> valueSupplier) {
+    if (isEnabled(Level.TRACE)) {
+      print(getCallerMethod(), Level.TRACE, logStatement, valueSupplier.get());
+    }
+  }
+
+  public static void warn(String logStatement) {
+    if (isEnabled(Level.WARN)) {
+      print(getCallerMethod(), Level.WARN, logStatement, NO_VALUES);
+    }
+  }
+
+  public static void warn(String logStatement, Object value) {
+    if (isEnabled(Level.WARN)) {
+      print(getCallerMethod(), Level.WARN, logStatement, value);
+    }
+  }
+
+  public static void warn(String logStatement, Object value1, Object value2) {
+    if (isEnabled(Level.WARN)) {
+      print(getCallerMethod(), Level.WARN, logStatement, value1, value2);
+    }
   }
 
   public static void warn(String logStatement, Object... values) {
-    print(getCallerMethod(), WARN, logStatement, values);
+    if (isEnabled(Level.WARN)) {
+      print(getCallerMethod(), Level.WARN, logStatement, values);
+    }
+  }
+
+  public static void warn(String logStatement, Supplier<?> valueSupplier) {
+    if (isEnabled(Level.WARN)) {
+      print(getCallerMethod(), Level.WARN, logStatement, valueSupplier.get());
+    }
   }
 
   public static void error(String logStatement, Exception exception) {
     printFail(getCallerMethod(), logStatement, exception);
   }
 
+  public static void reloadLogLevel() {
+    configuredLogLevel = resolveLogLevel();
+  }
+
+  private static boolean isEnabled(Level level) {
+    var logLevel = configuredLogLevel;
+    if (logLevel == null) {
+      logLevel = resolveLogLevel();
+      configuredLogLevel = logLevel;
+    }
+    if (level != logLevel) {
+      return false;
+    }
+    return switch (level) {
+      case INFO -> logger.isInfoEnabled();
+      case DEBUG -> logger.isDebugEnabled();
+      case TRACE -> logger.isTraceEnabled();
+      case WARN -> logger.isWarnEnabled();
+      case OFF -> false;
+    };
+  }
+
+  private static Level resolveLogLevel() {
+    var logLevel = FileUtils.getPropertyValue("log-level");
+    for (var level : Level.values()) {
+      if (level != Level.OFF && level.name().equalsIgnoreCase(logLevel)) {
+        return level;
+      }
+    }
+    logger.warn(
+        "Invalid log level defined in service test-data. Possible values are: INFO, DEBUG, TRACE, WARN");
+    return Level.OFF;
+  }
+
   private static void print(
-      String callerMethod, String level, String logStatement, Object... values) {
-    var configuredLogLevel = FileUtils.getPropertyValue("log-level");
-    var log = new StringBuilder().append(callerMethod).append(logStatement).toString();
+      String callerMethod, Level level, String logStatement, Object... values) {
+    var log = callerMethod + logStatement;
     if (!logStatement.contains(LOG_PLACEHOLDER) && values.length > 0) {
-      log =
-          new StringBuilder()
-              .append(log)
-              .append(COLON_SEPARATOR)
-              .append(LOG_PLACEHOLDER)
-              .toString();
-    }
-    if (level.equalsIgnoreCase(configuredLogLevel)) {
-      switch (configuredLogLevel.toUpperCase()) {
-        case INFO -> logger.info(log, values);
-        case DEBUG -> logger.debug(log, values);
-        case TRACE -> logger.trace(log, values);
-        case WARN -> logger.warn(log, values);
-        default -> throw new AutomationException(
-            "Invalid log level defined in service test-data. Possible values are: INFO, DEBUG, TRACE, WARN");
-      }
+      log = log + COLON_SEPARATOR + LOG_PLACEHOLDER;
+    }
+    switch (level) {
+      case INFO -> logger.info(log, values);
+      case DEBUG -> logger.debug(log, values);
+      case TRACE -> logger.trace(log, values);
+      case WARN -> logger.warn(log, values);
+      default -> throw new AutomationException(
+          "Invalid log level defined in service test-data. Possible values are: INFO, DEBUG, TRACE, WARN");
     }
   }
 
@@ -70,12 +234,21 @@ public class LogUtils {
   }
 
   private static String getCallerMethod() {
-    StackWalker stackWalker = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
     StackWalker.StackFrame stackFrame =
-        stackWalker.walk(stackFrameStream -> stackFrameStream.skip(2).findFirst().orElse(null));
+        STACK_WALKER.walk(stackFrameStream -> stackFrameStream.skip(2).findFirst().orElse(null));
     if (stackFrame == null) {
       return StringUtils.EMPTY;
     }
+    var callerLocations = CALLER_LOCATIONS.get(stackFrame.getDeclaringClass());
+    var callerLocation = callerLocations.get(stackFrame.getLineNumber());
+    if (callerLocation == null) {
+      callerLocation = formatCallerMethod(stackFrame);
+      callerLocations.putIfAbsent(stackFrame.getLineNumber(), callerLocation);
+    }
+    return callerLocation;
+  }
+
+  private static String formatCallerMethod(StackWalker.StackFrame stackFrame) {
     var fullQualifiedClassNameArr = stackFrame.getClassName().split(DOT_REGEX);
     var className = new StringBuilder();
     IntStream.range(0, fullQualifiedClassNameArr.length)
@@ -0,0 +1,190 @@
+package org.company.util;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.StringUtils;
+import org.company.exception.AutomationException;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+public class ResourceStore {
+
+  private static final String COMMA_SEPARATOR = ",";
+  private static final String JSON_EXTENSION = ".json";
+
+  private static final Map<Path, Map<String, Object>> RESOURCES = new ConcurrentHashMap<>();
+  private static final Set<Path> WATCHED_DIRECTORIES = ConcurrentHashMap.newKeySet();
+  private static final WatchService WATCH_SERVICE;
+
+  static {
+    WATCH_SERVICE =
+        ConfigRegistry.getBoolean("resource-store-watch", false) ? startWatchService() : null;
+    for (var directory :
+        StringUtils.split(
+            FileUtils.getPropertyValue("resource-store-preload-dirs"), COMMA_SEPARATOR)) {
+      preload(directory.trim());
+    }
+  }
+
+  public static void preload(String path) {
+    var directory = resolve(path);
+    if (!Files.isDirectory(directory)) {
+      LogUtils.warn("Resource directory {} does not exist", directory);
+      return;
+    }
+    try (var files = Files.walk(directory)) {
+      files
+          .filter(file -> Files.isRegularFile(file) && file.toString().endsWith(JSON_EXTENSION))
+          .forEach(ResourceStore::preloadResource);
+    } catch (IOException e) {
+      LogUtils.error(String.format("Unable to preload resources from %s", directory), e);
+    }
+    LogUtils.debug("Resources preloaded from {}", directory);
+  }
+
+  public static Map<String, Object> getJson(String path, String fileName) {
+    return getResource(resolve(path, fileName));
+  }
+
+  public static Object getValue(String path, String fileName, String key) {
+    var resource = getJson(path, fileName);
+    if (!resource.containsKey(key)) {
+      throw new AutomationException(String.format("%s not found in %s/%s", key, path, fileName));
+    }
+    return resource.get(key);
+  }
+
+  public static String getString(String path, String fileName, String key) {
+    return String.valueOf(getValue(path, fileName, key));
+  }
+
+  public static void invalidate(String path, String fileName) {
+    RESOURCES.remove(resolve(path, fileName));
+  }
+
+  public static void invalidateAll() {
+    RESOURCES.clear();
+  }
+
+  private static void preloadResource(Path file) {
+    try {
+      getResource(file);
+    } catch (AutomationException e) {
+      // not cached, so only a lookup of this file fails again
+      LogUtils.warn("Resource {} skipped during preload", file);
+    }
+  }
+
+  private static Map<String, Object> getResource(Path file) {
+    var resource = RESOURCES.get(file);
+    if (resource == null) {
+      resource = RESOURCES.computeIfAbsent(file, ResourceStore::load);
+    }
+    return resource;
+  }
+
+  private static Map<String, Object> load(Path file) {
+    try {
+      var resource = toImmutableMap(new JSONObject(Files.readString(file)));
+      watch(file.getParent());
+      LogUtils.debug("Resource {} loaded with {} keys", file, resource.size());
+      return resource;
+    } catch (IOException | JSONException e) {
+      LogUtils.error(String.format("Unable to read %s as a json object", file), e);
+    }
+    return Map.of();
+  }
+
+  private static Map<String, Object> toImmutableMap(JSONObject jsonObject) {
+    var map = new LinkedHashMap<String, Object>();
+    jsonObject.keySet().forEach(key -> map.put(key, toImmutableValue(jsonObject.get(key))));
+    return Collections.unmodifiableMap(map);
+  }
+
+  private static Object toImmutableValue(Object value) {
+    if (value instanceof JSONObject jsonObject) {
+      return toImmutableMap(jsonObject);
+    }
+    if (value instanceof JSONArray jsonArray) {
+      var list = new ArrayList<>(jsonArray.length());
+      jsonArray.forEach(element -> list.add(toImmutableValue(element)));
+      return Collections.unmodifiableList(list);
+    }
+    return JSONObject.NULL.equals(value) ? null : value;
+  }
+
+  private static Path resolve(String path, String fileName) {
+    return resolve(path).resolve(fileName).normalize();
+  }
+
+  private static Path resolve(String path) {
+    return Paths.get(System.getProperty("user.dir"), path).toAbsolutePath().normalize();
+  }
+
+  private static void watch(Path directory) {
+    if (WATCH_SERVICE == null || !WATCHED_DIRECTORIES.add(directory)) {
+      return;
+    }
+    try {
+      directory.register(
+          WATCH_SERVICE,
+          StandardWatchEventKinds.ENTRY_CREATE,
+          StandardWatchEventKinds.ENTRY_MODIFY,
+          StandardWatchEventKinds.ENTRY_DELETE);
+    } catch (IOException e) {
+      WATCHED_DIRECTORIES.remove(directory);
+      LogUtils.warn("Unable to watch resource directory {}", directory);
+    }
+  }
+
+  private static WatchService startWatchService() {
+    try {
+      var watchService = FileSystems.getDefault().newWatchService();
+      var watcher =
+          new Thread(() -> invalidateChangedResources(watchService), "resource-store-watcher");
+      watcher.setDaemon(true);
+      watcher.start();
+      return watchService;
+    } catch (IOException e) {
+      LogUtils.warn("Unable to start resource watcher, resources will not be reloaded");
+      return null;
+    }
+  }
+
+  private static void invalidateChangedResources(WatchService watchService) {
+    while (true) {
+      try {
+        var watchKey = watchService.take();
+        var directory = (Path) watchKey.watchable();
+        for (var event : watchKey.pollEvents()) {
+          if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+            invalidateAll();
+          } else {
+            var file = directory.resolve((Path) event.context());
+            if (RESOURCES.remove(file) != null) {
+              LogUtils.debug("Resource {} changed and was invalidated", file);
+            }
+          }
+        }
+        if (!watchKey.reset()) {
+          WATCHED_DIRECTORIES.remove(directory);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+}
@@ -3,13 +3,8 @@ package org.company.util;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.lessThan;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.restassured.response.Response;
-
 import java.util.*;
-
 import org.assertj.core.api.Assertions;
 import org.company.exception.AutomationException;
 import org.company.restapi.RestService;
@@ -33,7 +28,7 @@ public class RestApiUtils {
   }
 
   public static void validateIfResponseBodyContainsJsonKey(Response response, String jsonKey) {
-    var retrievedKeyValue = response.jsonPath().get(jsonKey);
+    var retrievedKeyValue = JsonDocument.of(response).get(jsonKey);
     if (retrievedKeyValue instanceof List) {
       Assertions.assertThat((List) retrievedKeyValue).doesNotContainNull();
     } else {
@@ -48,7 +43,7 @@ public class RestApiUtils {
 
   public static void validateJsonKeyValueInResponseBody(
       Response response, String jsonKey, Object expectedJsonKeyValue) {
-    var retrievedKeyValue = response.jsonPath().get(jsonKey);
+    var retrievedKeyValue = JsonDocument.of(response).get(jsonKey);
     if (retrievedKeyValue instanceof List) {
       Assertions.assertThat((List) retrievedKeyValue).contains(expectedJsonKeyValue);
     } else {
@@ -77,44 +72,14 @@ public class RestApiUtils {
   }
 
   public static boolean hasKey(Response response, String jsonKey) {
-    var responseBody = RestService.getResponseBody(response);
-    if (responseBody.startsWith("[")) {
-      return getResponseAsJsonArray(response).toList().stream().anyMatch(je -> {
-          if (je instanceof Map<?,?>) {
-              return ( (Map<?, ?>) je ).containsKey(jsonKey);
-          } else if (je instanceof List<?>) {
-            throw new AutomationException("Nested json array support is not available at the moment");
-          }
-        throw new AutomationException("Invalid json");
-      });
-    } else if (responseBody.startsWith("{")) {
-      return getResponseAsJsonObject(response).has(jsonKey);
-    }
-    throw new AutomationException("Invalid json");
+    return JsonDocument.of(response).hasKey(jsonKey);
   }
 
   public static boolean isValuePresentForKeyInResponse(Response response, String jsonKey) {
-    var responseBody = RestService.getResponseBody(response);
-    if (hasKey(response, jsonKey) && responseBody.startsWith("[")) {
-      return getResponseAsJsonArray(response).toList().stream().anyMatch(je -> {
-        if (je instanceof Map<?,?>) {
-          return Objects.nonNull(((Map<?, ?>) je).get(jsonKey));
-        } else if (je instanceof List<?>) {
-          throw new AutomationException("Nested json array support is not available at the moment");
-        }
-        throw new AutomationException("Invalid json");
-      });
-    } else if (responseBody.startsWith("{")) {
-      return hasKey(response, jsonKey) && !getResponseAsJsonObject(response).isNull(jsonKey);
-    }
-    throw new AutomationException("Invalid json");
+    return JsonDocument.of(response).hasValueForKey(jsonKey);
   }
 
   public static Object getValueForJsonKeyFromResponse(Response response, String jsonKey) {
-    var responseBody = response.getBody();
-    if (responseBody instanceof List<?>) {
-      return responseBody.jsonPath().getList(jsonKey);
-    }
-    return responseBody.jsonPath().get(jsonKey);
+    return JsonDocument.of(response).get(jsonKey);
   }
 }
@@ -1,87 +1,248 @@
 package org.company.util.nosql.mongo;
 
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCredential;
+import com.mongodb.bulk.BulkWriteResult;
 import com.mongodb.client.*;
-import org.bson.Document;
-import org.company.util.FileUtils;
-import org.company.util.LogUtils;
-
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.WriteModel;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.bson.Document;
+import org.company.util.ConfigRegistry;
+import org.company.util.FileUtils;
+import org.company.util.LogUtils;
 
 public class DatabaseUtils {
 
-    private static MongoClient mongoClient;
+  private static final int DEFAULT_WRITE_BATCH_SIZE = 1000;
 
-    public static boolean isDatabaseUpAndRunning() {
-        try {
-            return mongoClient.getClusterDescription() != null;
-        } catch (Exception e) {
-            return false;
-        }
+  private static final MongoMetrics MONGO_METRICS = new MongoMetrics();
+  private static volatile MongoClient mongoClient;
+
+  public static boolean isDatabaseUpAndRunning() {
+    try {
+      return mongoClient.getClusterDescription() != null;
+    } catch (Exception e) {
+      return false;
     }
+  }
 
-    public static MongoClient getDatabaseConnection() {
-        var noSqlDbUrl = FileUtils.getPropertyValue("noSqlDbUrl");
-        var noSqlDbUsername = FileUtils.getPropertyValue("noSqlDbUsername");
-        var noSqlDbPassword = FileUtils.getPropertyValue("noSqlDbPassword");
-        try {
-            mongoClient = MongoClients.create(noSqlDbUrl);
+  public static MongoClient getDatabaseConnection() {
+    var client = mongoClient;
+    if (client == null) {
+      synchronized (DatabaseUtils.class) {
+        client = mongoClient;
+        if (client == null) {
+          try {
+            client = MongoClients.create(getMongoClientSettings());
+            mongoClient = client;
             LogUtils.debug("NoSql Database connection established");
-        } catch (Exception e) {
+          } catch (Exception e) {
             LogUtils.error("Unable to establish nosql db connection", e);
+          }
         }
-        return mongoClient;
+      }
     }
+    return client;
+  }
 
-    public static MongoDatabase getDatabase(String databaseName) {
-        return mongoClient.getDatabase(databaseName);
+  public static void closeDatabaseConnection() {
+    synchronized (DatabaseUtils.class) {
+      if (mongoClient != null) {
+        LogUtils.debug("NoSql connection pool metrics", MONGO_METRICS);
+        mongoClient.close();
+        mongoClient = null;
+        LogUtils.debug("NoSql Database connection closed successfully");
+      } else {
+        LogUtils.debug("No nosql connection exist that can be closed");
+      }
     }
+  }
+
+  public static MongoMetrics getConnectionPoolMetrics() {
+    return MONGO_METRICS;
+  }
 
-    public static MongoCollection<Document> getCollection( String databaseName, String collectionName) {
-        return getDatabase(databaseName).getCollection(collectionName);
+  private static MongoClientSettings getMongoClientSettings() {
+    var noSqlDbUrl = FileUtils.getPropertyValue("noSqlDbUrl");
+    var noSqlDbUsername = FileUtils.getPropertyValue("noSqlDbUsername");
+    var noSqlDbPassword = FileUtils.getPropertyValue("noSqlDbPassword");
+    var settingsBuilder =
+        MongoClientSettings.builder()
+            .applyConnectionString(new ConnectionString(noSqlDbUrl))
+            .addCommandListener(MONGO_METRICS)
+            .applyToConnectionPoolSettings(
+                poolSettings -> {
+                  poolSettings.addConnectionPoolListener(MONGO_METRICS);
+                  getIntProperty("noSqlPoolMaxSize").ifPresent(poolSettings::maxSize);
+                  getIntProperty("noSqlPoolMinSize").ifPresent(poolSettings::minSize);
+                  getIntProperty("noSqlPoolMaxWaitTimeMs")
+                      .ifPresent(ms -> poolSettings.maxWaitTime(ms, TimeUnit.MILLISECONDS));
+                  getIntProperty("noSqlPoolMaxConnectionIdleTimeMs")
+                      .ifPresent(
+                          ms -> poolSettings.maxConnectionIdleTime(ms, TimeUnit.MILLISECONDS));
+                })
+            .applyToSocketSettings(
+                socketSettings -> {
+                  getIntProperty("noSqlSocketConnectTimeoutMs")
+                      .ifPresent(ms -> socketSettings.connectTimeout(ms, TimeUnit.MILLISECONDS));
+                  getIntProperty("noSqlSocketReadTimeoutMs")
+                      .ifPresent(ms -> socketSettings.readTimeout(ms, TimeUnit.MILLISECONDS));
+                });
+    if (StringUtils.isNotBlank(noSqlDbUsername)) {
+      var authDatabase =
+          StringUtils.defaultIfBlank(FileUtils.getPropertyValue("noSqlDbAuthDatabase"), "admin");
+      settingsBuilder.credential(
+          MongoCredential.createCredential(
+              noSqlDbUsername, authDatabase, noSqlDbPassword.toCharArray()));
     }
+    return settingsBuilder.build();
+  }
+
+  private static OptionalInt getIntProperty(String propertyKey) {
+    var propertyValue = FileUtils.getPropertyValue(propertyKey);
+    return NumberUtils.isDigits(propertyValue)
+        ? OptionalInt.of(Integer.parseInt(propertyValue))
+        : OptionalInt.empty();
+  }
+
+  public static MongoDatabase getDatabase(String databaseName) {
+    return getDatabaseConnection().getDatabase(databaseName);
+  }
+
+  public static MongoCollection<Document> getCollection(
+      String databaseName, String collectionName) {
+    return getDatabase(databaseName).getCollection(collectionName);
+  }
 
-    public static void createCollectionFromDatabase(String collectionName, String databaseName) {
-        getDatabase(databaseName).createCollection(collectionName);
+  public static void createCollectionFromDatabase(String collectionName, String databaseName) {
+    getDatabase(databaseName).createCollection(collectionName);
+  }
+
+  public static ListCollectionsIterable<Document> listAllCollectionsInDatabase(
+      String databaseName) {
+    return getDatabase(databaseName).listCollections();
+  }
+
+  public static List<String> listAllCollectionNamesInDatabase(String databaseName) {
+    var collectionNames = new ArrayList<String>();
+    var mongoCursor = getDatabase(databaseName).listCollectionNames().iterator();
+    while (mongoCursor.hasNext()) {
+      collectionNames.add(mongoCursor.next());
     }
+    return collectionNames;
+  }
 
-    public static ListCollectionsIterable<Document> listAllCollectionsInDatabase(String databaseName) {
-        return getDatabase(databaseName).listCollections();
+  public static List<Document> getDocumentsFromCollection(
+      String databaseName, String collectionName, Map<String, Object> documentMap) {
+    try (var documents =
+        streamDocumentsFromCollection(
+            databaseName, collectionName, DocumentQuery.of(documentMap))) {
+      return documents.toList();
     }
+  }
 
-    public static List<String> listAllCollectionNamesInDatabase( String databaseName) {
-        var collectionNames = new ArrayList<String>();
-        var mongoCursor = getDatabase(databaseName).listCollectionNames().iterator();
-        while(mongoCursor.hasNext()){
-            collectionNames.add(mongoCursor.next());
-        }
-        return collectionNames;
+  public static Stream<Document> streamDocumentsFromCollection(
+      String databaseName, String collectionName, DocumentQuery documentQuery) {
+    var findIterable =
+        getCollection(databaseName, collectionName).find(new Document(documentQuery.filter()));
+    if (!documentQuery.projectionFields().isEmpty()) {
+      findIterable.projection(Projections.include(documentQuery.projectionFields()));
+    }
+    if (documentQuery.sort() != null) {
+      findIterable.sort(documentQuery.sort());
     }
+    if (documentQuery.limit() > 0) {
+      findIterable.limit(documentQuery.limit());
+    }
+    if (documentQuery.batchSize() > 0) {
+      findIterable.batchSize(documentQuery.batchSize());
+    }
+    return new DocumentCursor(findIterable.cursor()).stream();
+  }
 
-    public static List<Document> getDocumentsFromCollection(String databaseName, String collectionName, Map<String,Object> documentMap) {
-        Document searchQuery = new Document();
-        documentMap.entrySet().stream().forEach(es -> searchQuery.put(es.getKey(), es.getValue()));
-        var mongoCursor = getCollection(databaseName, collectionName).find(searchQuery).cursor();
-        var documents = new ArrayList<Document>();
-        while(mongoCursor.hasNext()){
-            documents.add(mongoCursor.next());
-        }
-        return documents;
+  public static String insertDocumentToCollection(
+      String databaseName, String collectionName, Map<String, Object> documentMap) {
+    Document document = new Document();
+    documentMap.entrySet().stream().forEach(es -> document.put(es.getKey(), es.getValue()));
+    var result = getCollection(databaseName, collectionName).insertOne(document);
+    return result.getInsertedId().toString();
+  }
+
+  public static List<String> insertDocumentsToCollection(
+      String databaseName, String collectionName, List<Map<String, Object>> documentMaps) {
+    return insertDocumentsToCollection(
+        databaseName, collectionName, documentMaps, getWriteBatchSize(), isOrderedWrite());
+  }
+
+  public static List<String> insertDocumentsToCollection(
+      String databaseName,
+      String collectionName,
+      List<Map<String, Object>> documentMaps,
+      int batchSize,
+      boolean ordered) {
+    var collection = getCollection(databaseName, collectionName);
+    var insertManyOptions = new InsertManyOptions().ordered(ordered);
+    var insertedIds = new ArrayList<String>(documentMaps.size());
+    for (var batch : ListUtils.partition(documentMaps, Math.max(batchSize, 1))) {
+      var documents = batch.stream().map(Document::new).toList();
+      var result = collection.insertMany(documents, insertManyOptions);
+      result.getInsertedIds().values().forEach(id -> insertedIds.add(id.toString()));
     }
+    LogUtils.debug("Inserted {} documents into collection {}", insertedIds.size(), collectionName);
+    return insertedIds;
+  }
+
+  public static List<BulkWriteResult> bulkWriteToCollection(
+      String databaseName, String collectionName, List<WriteModel<Document>> writeModels) {
+    return bulkWriteToCollection(
+        databaseName, collectionName, writeModels, getWriteBatchSize(), isOrderedWrite());
+  }
 
-    public static String insertDocumentToCollection(String databaseName, String collectionName, Map<String,Object> documentMap) {
-        Document document = new Document();
-        documentMap.entrySet().stream().forEach(es -> document.put(es.getKey(), es.getValue()));
-        var result = getCollection(databaseName, collectionName).insertOne(document);
-        return result.getInsertedId().toString();
+  public static List<BulkWriteResult> bulkWriteToCollection(
+      String databaseName,
+      String collectionName,
+      List<WriteModel<Document>> writeModels,
+      int batchSize,
+      boolean ordered) {
+    var collection = getCollection(databaseName, collectionName);
+    var bulkWriteOptions = new BulkWriteOptions().ordered(ordered);
+    var results = new ArrayList<BulkWriteResult>();
+    for (var batch : ListUtils.partition(writeModels, Math.max(batchSize, 1))) {
+      results.add(collection.bulkWrite(batch, bulkWriteOptions));
     }
+    LogUtils.debug(
+        "Executed {} write operations in {} batches on collection {}",
+        writeModels.size(),
+        results.size(),
+        collectionName);
+    return results;
+  }
 
-    public static String getValueOfFieldInDocumentFromCollection(String field, Document document) {
-        var value = document.get(field);
-        if(value instanceof Document) {
-            return ((Document)value).toJson();
-        }
-        return value.toString();
+  private static int getWriteBatchSize() {
+    return ConfigRegistry.getInt("noSqlWriteBatchSize", DEFAULT_WRITE_BATCH_SIZE);
+  }
+
+  private static boolean isOrderedWrite() {
+    return ConfigRegistry.getBoolean("noSqlOrderedWrite", true);
+  }
+
+  public static String getValueOfFieldInDocumentFromCollection(String field, Document document) {
+    var value = document.get(field);
+    if (value instanceof Document) {
+      return ((Document) value).toJson();
     }
+    return value.toString();
+  }
 }
@@ -0,0 +1,55 @@
+package org.company.util.nosql.mongo;
+
+import com.mongodb.client.MongoCursor;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.bson.Document;
+
+class DocumentCursor implements Iterator<Document>, AutoCloseable {
+
+  private final MongoCursor<Document> mongoCursor;
+  private boolean closed;
+
+  DocumentCursor(MongoCursor<Document> mongoCursor) {
+    this.mongoCursor = mongoCursor;
+  }
+
+  Stream<Document> stream() {
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL),
+            false)
+        .onClose(this::close);
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (closed) {
+      return false;
+    }
+    if (!mongoCursor.hasNext()) {
+      close();
+      return false;
+    }
+    return true;
+  }
+
+  @Override
+  public Document next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return mongoCursor.next();
+  }
+
+  @Override
+  public void close() {
+    if (!closed) {
+      closed = true;
+      mongoCursor.close();
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package org.company.util.nosql.mongo;
+
+import java.util.List;
+import java.util.Map;
+import org.bson.conversions.Bson;
+
+/**
+ * Find query for {@link DatabaseUtils#streamDocumentsFromCollection}. The sort is a {@link Bson}
+ * built with {@code Sorts}, so multi-key sorts keep their key order.
+ */
+public record DocumentQuery(
+    Map<String, Object> filter,
+    List<String> projectionFields,
+    Bson sort,
+    int limit,
+    int batchSize) {
+
+  public static DocumentQuery of(Map<String, Object> filter) {
+    return new DocumentQuery(filter, List.of(), null, 0, 0);
+  }
+
+  public DocumentQuery withProjection(List<String> projectionFields) {
+    return new DocumentQuery(filter, projectionFields, sort, limit, batchSize);
+  }
+
+  public DocumentQuery withSort(Bson sort) {
+    return new DocumentQuery(filter, projectionFields, sort, limit, batchSize);
+  }
+
+  public DocumentQuery withLimit(int limit) {
+    return new DocumentQuery(filter, projectionFields, sort, limit, batchSize);
+  }
+
+  public DocumentQuery withBatchSize(int batchSize) {
+    return new DocumentQuery(filter, projectionFields, sort, limit, batchSize);
+  }
+}
@@ -0,0 +1,193 @@
+package org.company.util.nosql.mongo;
+
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import com.mongodb.event.ConnectionPoolClosedEvent;
+import com.mongodb.event.ConnectionPoolCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class MongoMetrics implements ConnectionPoolListener, CommandListener {
+
+  private final Map<Long, Long> checkOutStartTimes = new ConcurrentHashMap<>();
+  private final LongAdder checkOutCount = new LongAdder();
+  private final LongAdder checkOutFailedCount = new LongAdder();
+  private final LongAdder checkOutWaitNanos = new LongAdder();
+  private final AtomicLong maxCheckOutWaitNanos = new AtomicLong();
+  private final AtomicInteger checkedOutConnections = new AtomicInteger();
+  private final AtomicInteger peakCheckedOutConnections = new AtomicInteger();
+  private final AtomicInteger openConnections = new AtomicInteger();
+  private final Map<ServerId, Integer> maxPoolSizes = new ConcurrentHashMap<>();
+  private final Map<String, CommandStats> commandStats = new ConcurrentHashMap<>();
+
+  @Override
+  public void connectionPoolCreated(ConnectionPoolCreatedEvent event) {
+    maxPoolSizes.put(event.getServerId(), event.getSettings().getMaxSize());
+  }
+
+  @Override
+  public void connectionPoolClosed(ConnectionPoolClosedEvent event) {
+    maxPoolSizes.remove(event.getServerId());
+  }
+
+  @Override
+  public void connectionCreated(ConnectionCreatedEvent event) {
+    openConnections.incrementAndGet();
+  }
+
+  @Override
+  public void connectionClosed(ConnectionClosedEvent event) {
+    openConnections.decrementAndGet();
+  }
+
+  @Override
+  public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+    checkOutStartTimes.put(event.getOperationId(), System.nanoTime());
+  }
+
+  @Override
+  public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+    recordCheckOutWait(event.getOperationId());
+    checkOutCount.increment();
+    peakCheckedOutConnections.accumulateAndGet(checkedOutConnections.incrementAndGet(), Math::max);
+  }
+
+  @Override
+  public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+    recordCheckOutWait(event.getOperationId());
+    checkOutFailedCount.increment();
+  }
+
+  @Override
+  public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+    checkedOutConnections.decrementAndGet();
+  }
+
+  @Override
+  public void commandSucceeded(CommandSucceededEvent event) {
+    getCommandStats(event.getCommandName())
+        .record(event.getElapsedTime(TimeUnit.NANOSECONDS), false);
+  }
+
+  @Override
+  public void commandFailed(CommandFailedEvent event) {
+    getCommandStats(event.getCommandName())
+        .record(event.getElapsedTime(TimeUnit.NANOSECONDS), true);
+  }
+
+  public long getCheckOutCount() {
+    return checkOutCount.sum();
+  }
+
+  public long getCheckOutFailedCount() {
+    return checkOutFailedCount.sum();
+  }
+
+  public double getAverageCheckOutWaitMillis() {
+    var count = checkOutCount.sum() + checkOutFailedCount.sum();
+    return count == 0 ? 0 : toMillis(checkOutWaitNanos.sum()) / count;
+  }
+
+  public double getMaxCheckOutWaitMillis() {
+    return toMillis(maxCheckOutWaitNanos.get());
+  }
+
+  public int getCheckedOutConnections() {
+    return checkedOutConnections.get();
+  }
+
+  public int getPeakCheckedOutConnections() {
+    return peakCheckedOutConnections.get();
+  }
+
+  public int getOpenConnections() {
+    return openConnections.get();
+  }
+
+  public double getPoolUtilization() {
+    var maxSize = maxPoolSizes.values().stream().mapToInt(Integer::intValue).sum();
+    return maxSize == 0 ? 0 : (double) checkedOutConnections.get() / maxSize;
+  }
+
+  public Map<String, String> getCommandLatencies() {
+    var commandLatencies = new TreeMap<String, String>();
+    commandStats.forEach(
+        (commandName, stats) -> commandLatencies.put(commandName, stats.toString()));
+    return commandLatencies;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "checkOuts=%s, failedCheckOuts=%s, avgCheckOutWaitMs=%.3f, maxCheckOutWaitMs=%.3f, "
+            + "checkedOut=%s, peakCheckedOut=%s, open=%s, utilization=%.2f, commands=%s",
+        getCheckOutCount(),
+        getCheckOutFailedCount(),
+        getAverageCheckOutWaitMillis(),
+        getMaxCheckOutWaitMillis(),
+        getCheckedOutConnections(),
+        getPeakCheckedOutConnections(),
+        getOpenConnections(),
+        getPoolUtilization(),
+        getCommandLatencies());
+  }
+
+  private void recordCheckOutWait(long operationId) {
+    var startTime = checkOutStartTimes.remove(operationId);
+    if (startTime != null) {
+      var waitNanos = System.nanoTime() - startTime;
+      checkOutWaitNanos.add(waitNanos);
+      maxCheckOutWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+  }
+
+  private CommandStats getCommandStats(String commandName) {
+    return commandStats.computeIfAbsent(commandName, name -> new CommandStats());
+  }
+
+  private static double toMillis(long nanos) {
+    return nanos / 1_000_000d;
+  }
+
+  private static class CommandStats {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    private void record(long elapsedNanos, boolean failed) {
+      count.increment();
+      if (failed) {
+        failedCount.increment();
+      }
+      totalNanos.add(elapsedNanos);
+      maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+    }
+
+    @Override
+    public String toString() {
+      var commandCount = count.sum();
+      return String.format(
+          "count=%s, failed=%s, avgMs=%.3f, maxMs=%.3f",
+          commandCount,
+          failedCount.sum(),
+          commandCount == 0 ? 0 : toMillis(totalNanos.sum()) / commandCount,
+          toMillis(maxNanos.get()));
+    }
+  }
+}
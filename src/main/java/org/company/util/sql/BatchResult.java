@@ -0,0 +1,20 @@
+package org.company.util.sql;
+
+import java.time.Duration;
+import java.util.List;
+
+public record BatchResult(int batchNumber, int rowCount, long updateCount, Duration elapsedTime) {
+
+  /** Update count of a batch the driver executed without reporting the affected rows. */
+  public static final long UNKNOWN_UPDATE_COUNT = QueryMetrics.UNKNOWN_ROW_COUNT;
+
+  public static int getTotalRowCount(List<BatchResult> batchResults) {
+    return batchResults.stream().mapToInt(BatchResult::rowCount).sum();
+  }
+
+  public static Duration getTotalElapsedTime(List<BatchResult> batchResults) {
+    return batchResults.stream()
+        .map(BatchResult::elapsedTime)
+        .reduce(Duration.ZERO, Duration::plus);
+  }
+}
@@ -0,0 +1,215 @@
+package org.company.util.sql;
+
+import com.microsoft.sqlserver.jdbc.ISQLServerBulkData;
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCSVFileRecord;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import org.apache.commons.lang3.StringUtils;
+import org.company.exception.AutomationException;
+
+/**
+ * Feeds rows to SQL Server bulk copy in chunks, so every chunk can be written and timed as its own
+ * batch. Column types are taken from the destination table.
+ */
+@SuppressWarnings("serial") // Serializable through ISQLServerBulkData, never serialized
+class BulkCopySource implements ISQLServerBulkData, AutoCloseable {
+
+  private static final String CSV_DELIMITER = ",";
+
+  private final String[] columnNames;
+  private final int[] columnTypes;
+  private final int[] precisions;
+  private final int[] scales;
+  private final SQLServerBulkCSVFileRecord csvRecord;
+  private final Iterator<? extends List<?>> rows;
+  private Object[] currentRow;
+  private int chunkSize;
+  private int chunkRowCount;
+  private boolean pendingRow;
+  private boolean exhausted;
+
+  private record ColumnType(String name, int type, int precision, int scale) {}
+
+  private BulkCopySource(
+      List<ColumnType> columns,
+      SQLServerBulkCSVFileRecord csvRecord,
+      Iterator<? extends List<?>> rows) {
+    this.columnNames = new String[columns.size()];
+    this.columnTypes = new int[columns.size()];
+    this.precisions = new int[columns.size()];
+    this.scales = new int[columns.size()];
+    for (int i = 0; i < columns.size(); i++) {
+      columnNames[i] = columns.get(i).name();
+      columnTypes[i] = columns.get(i).type();
+      precisions[i] = columns.get(i).precision();
+      scales[i] = columns.get(i).scale();
+    }
+    this.csvRecord = csvRecord;
+    this.rows = rows;
+  }
+
+  static BulkCopySource fromRows(
+      Connection connection,
+      String tableName,
+      List<String> columnNames,
+      Iterator<? extends List<?>> rows)
+      throws SQLException {
+    return new BulkCopySource(getColumns(connection, tableName, columnNames), null, rows);
+  }
+
+  static BulkCopySource fromCsv(Connection connection, String tableName, Path csvFile)
+      throws SQLException {
+    var columns = getColumns(connection, tableName, readCsvHeader(csvFile));
+    var csvRecord =
+        new SQLServerBulkCSVFileRecord(
+            csvFile.toString(), StandardCharsets.UTF_8.name(), CSV_DELIMITER, true);
+    for (int i = 0; i < columns.size(); i++) {
+      var column = columns.get(i);
+      csvRecord.addColumnMetadata(
+          i + 1, column.name(), column.type(), column.precision(), column.scale());
+    }
+    return new BulkCopySource(columns, csvRecord, null);
+  }
+
+  String[] getColumnNames() {
+    return columnNames;
+  }
+
+  boolean nextChunk(int chunkSize) throws SQLException {
+    this.chunkSize = Math.max(chunkSize, 1);
+    this.chunkRowCount = 0;
+    pendingRow = !exhausted && advance();
+    return pendingRow;
+  }
+
+  int getChunkRowCount() {
+    return chunkRowCount;
+  }
+
+  @Override
+  public Set<Integer> getColumnOrdinals() {
+    var columnOrdinals = new LinkedHashSet<Integer>();
+    for (int i = 1; i <= columnNames.length; i++) {
+      columnOrdinals.add(i);
+    }
+    return columnOrdinals;
+  }
+
+  @Override
+  public String getColumnName(int column) {
+    return columnNames[column - 1];
+  }
+
+  @Override
+  public int getColumnType(int column) {
+    return columnTypes[column - 1];
+  }
+
+  @Override
+  public int getPrecision(int column) {
+    return precisions[column - 1];
+  }
+
+  @Override
+  public int getScale(int column) {
+    return scales[column - 1];
+  }
+
+  @Override
+  public Object[] getRowData() throws SQLException {
+    return csvRecord != null ? csvRecord.getRowData() : currentRow;
+  }
+
+  @Override
+  public boolean next() throws SQLException {
+    if (pendingRow) {
+      pendingRow = false;
+      chunkRowCount++;
+      return true;
+    }
+    if (exhausted || chunkRowCount >= chunkSize || !advance()) {
+      return false;
+    }
+    chunkRowCount++;
+    return true;
+  }
+
+  @Override
+  public void close() throws SQLException {
+    if (csvRecord != null) {
+      csvRecord.close();
+    }
+  }
+
+  private boolean advance() throws SQLException {
+    if (csvRecord != null ? csvRecord.next() : rows.hasNext()) {
+      if (csvRecord == null) {
+        currentRow = rows.next().toArray();
+      }
+      return true;
+    }
+    exhausted = true;
+    return false;
+  }
+
+  private static List<ColumnType> getColumns(
+      Connection connection, String tableName, List<String> columnNames) throws SQLException {
+    var tableColumns = new TreeMap<String, ColumnType>(String.CASE_INSENSITIVE_ORDER);
+    try (var statement = connection.createStatement();
+        var resultSet =
+            statement.executeQuery(String.format("SELECT * FROM %s WHERE 1 = 0", tableName))) {
+      var resultSetMetadata = resultSet.getMetaData();
+      for (int i = 1; i <= resultSetMetadata.getColumnCount(); i++) {
+        var columnName = resultSetMetadata.getColumnName(i);
+        tableColumns.put(
+            columnName,
+            new ColumnType(
+                columnName,
+                resultSetMetadata.getColumnType(i),
+                resultSetMetadata.getPrecision(i),
+                resultSetMetadata.getScale(i)));
+      }
+    }
+    return getColumns(tableName, tableColumns, columnNames);
+  }
+
+  private static List<ColumnType> getColumns(
+      String tableName, Map<String, ColumnType> tableColumns, List<String> columnNames) {
+    return columnNames.stream()
+        .map(
+            columnName -> {
+              var column = tableColumns.get(columnName);
+              if (column == null) {
+                throw new AutomationException(
+                    String.format("Column %s does not exist in table %s", columnName, tableName));
+              }
+              return column;
+            })
+        .toList();
+  }
+
+  private static List<String> readCsvHeader(Path csvFile) {
+    try (var reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8)) {
+      var header = StringUtils.removeStart(reader.readLine(), "\uFEFF");
+      if (StringUtils.isBlank(header)) {
+        throw new AutomationException(String.format("Csv file %s has no header line", csvFile));
+      }
+      return Arrays.stream(header.split(CSV_DELIMITER))
+          .map(columnName -> StringUtils.strip(columnName.trim(), "\""))
+          .toList();
+    } catch (IOException e) {
+      throw new AutomationException(String.format("Unable to read csv file %s", csvFile), e);
+    }
+  }
+}
@@ -0,0 +1,204 @@
+package org.company.util.sql;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.company.exception.AutomationException;
+import org.company.util.ConfigRegistry;
+import org.company.util.FileUtils;
+import org.company.util.LogUtils;
+
+class ConnectionPool {
+
+  private static final int DEFAULT_MIN_SIZE = 1;
+  private static final int DEFAULT_MAX_SIZE = 5;
+  private static final long DEFAULT_BORROW_TIMEOUT_MS = 30_000L;
+  private static final int DEFAULT_VALIDATION_TIMEOUT_SECONDS = 5;
+  private static final int DEFAULT_STATEMENT_CACHE_SIZE = 50;
+
+  private final String dbUrl;
+  private final String username;
+  private final String password;
+  private final int minSize;
+  private final int maxSize;
+  private final long borrowTimeoutInMillis;
+  private final int validationTimeoutInSeconds;
+  private final int statementCacheSize;
+
+  private final LinkedBlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<>();
+  private final AtomicInteger totalConnections = new AtomicInteger();
+  private final AtomicInteger leasedConnections = new AtomicInteger();
+  private final AtomicInteger generation = new AtomicInteger();
+  private final ThreadLocal<PooledConnection> leasedConnection = new ThreadLocal<>();
+  private volatile boolean closed;
+
+  ConnectionPool() {
+    this.dbUrl = FileUtils.getPropertyValue("dbUrl");
+    this.username = FileUtils.getPropertyValue("dbUsername");
+    this.password = FileUtils.getPropertyValue("dbPassword");
+    this.minSize = ConfigRegistry.getInt("dbPoolMinSize", DEFAULT_MIN_SIZE);
+    this.maxSize = Math.max(minSize, ConfigRegistry.getInt("dbPoolMaxSize", DEFAULT_MAX_SIZE));
+    this.borrowTimeoutInMillis =
+        ConfigRegistry.getLong("dbPoolBorrowTimeoutMs", DEFAULT_BORROW_TIMEOUT_MS);
+    this.validationTimeoutInSeconds =
+        ConfigRegistry.getInt("dbPoolValidationTimeoutSeconds", DEFAULT_VALIDATION_TIMEOUT_SECONDS);
+    this.statementCacheSize =
+        ConfigRegistry.getInt("dbStatementCacheSize", DEFAULT_STATEMENT_CACHE_SIZE);
+    for (int i = 0; i < minSize; i++) {
+      totalConnections.incrementAndGet();
+      idleConnections.offer(createConnection());
+    }
+    LogUtils.debug(
+        "Database connection pool initialized with min size {} and max size {}", minSize, maxSize);
+  }
+
+  PooledConnection lease() {
+    var pooledConnection = leasedConnection.get();
+    if (pooledConnection == null) {
+      pooledConnection = borrow();
+      leasedConnection.set(pooledConnection);
+      leasedConnections.incrementAndGet();
+    }
+    pooledConnection.acquire();
+    return pooledConnection;
+  }
+
+  void release() {
+    var pooledConnection = leasedConnection.get();
+    if (pooledConnection != null && pooledConnection.release() == 0) {
+      leasedConnection.remove();
+      leasedConnections.decrementAndGet();
+      giveBack(pooledConnection);
+    }
+  }
+
+  void releaseAll() {
+    var pooledConnection = leasedConnection.get();
+    if (pooledConnection != null) {
+      pooledConnection.resetHoldCount();
+      leasedConnection.remove();
+      leasedConnections.decrementAndGet();
+      giveBack(pooledConnection);
+    }
+  }
+
+  boolean hasLease() {
+    return leasedConnection.get() != null;
+  }
+
+  PooledConnection getLease() {
+    return leasedConnection.get();
+  }
+
+  int getLeasedCount() {
+    return leasedConnections.get();
+  }
+
+  /**
+   * Replaces every pooled connection without closing one that is in use: idle connections are
+   * closed now, leased ones when their thread releases them.
+   */
+  void recycle() {
+    generation.incrementAndGet();
+    PooledConnection pooledConnection;
+    while ((pooledConnection = idleConnections.poll()) != null) {
+      discard(pooledConnection);
+    }
+    LogUtils.debug("Database connection pool recycled");
+  }
+
+  void close() {
+    closed = true;
+    releaseAll();
+    PooledConnection pooledConnection;
+    while ((pooledConnection = idleConnections.poll()) != null) {
+      pooledConnection.close();
+      totalConnections.decrementAndGet();
+    }
+    LogUtils.debug("Database connection pool closed");
+  }
+
+  boolean isClosed() {
+    return closed;
+  }
+
+  private PooledConnection borrow() {
+    if (closed) {
+      throw new AutomationException("Database connection pool is closed");
+    }
+    var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutInMillis);
+    while (true) {
+      var pooledConnection = idleConnections.pollFirst();
+      if (pooledConnection == null) {
+        pooledConnection = tryCreateConnection();
+      }
+      if (pooledConnection == null) {
+        pooledConnection = awaitIdleConnection(deadline);
+      }
+      if (pooledConnection.getGeneration() == generation.get()
+          && pooledConnection.isValid(validationTimeoutInSeconds)) {
+        return pooledConnection;
+      }
+      LogUtils.debug("Discarding invalid or recycled pooled database connection");
+      discard(pooledConnection);
+    }
+  }
+
+  private PooledConnection tryCreateConnection() {
+    var current = totalConnections.get();
+    while (current < maxSize) {
+      if (totalConnections.compareAndSet(current, current + 1)) {
+        try {
+          return createConnection();
+        } catch (RuntimeException e) {
+          totalConnections.decrementAndGet();
+          throw e;
+        }
+      }
+      current = totalConnections.get();
+    }
+    return null;
+  }
+
+  private PooledConnection awaitIdleConnection(long deadline) {
+    try {
+      var pooledConnection =
+          idleConnections.pollFirst(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+      if (pooledConnection == null) {
+        throw new AutomationException(
+            String.format(
+                "Timed out after %s ms waiting for a database connection", borrowTimeoutInMillis));
+      }
+      return pooledConnection;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AutomationException("Interrupted while waiting for a database connection", e);
+    }
+  }
+
+  private PooledConnection createConnection() {
+    try {
+      var connection = DriverManager.getConnection(dbUrl, username, password);
+      LogUtils.debug("Database connection established");
+      return new PooledConnection(connection, generation.get(), statementCacheSize);
+    } catch (SQLException e) {
+      LogUtils.error("Unable to establish db connection", e);
+    }
+    return null;
+  }
+
+  private void giveBack(PooledConnection pooledConnection) {
+    if (closed || pooledConnection.getGeneration() != generation.get()) {
+      discard(pooledConnection);
+    } else {
+      idleConnections.offerFirst(pooledConnection);
+    }
+  }
+
+  private void discard(PooledConnection pooledConnection) {
+    pooledConnection.close();
+    totalConnections.decrementAndGet();
+  }
+}
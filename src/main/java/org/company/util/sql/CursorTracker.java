@@ -0,0 +1,109 @@
+package org.company.util.sql;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import org.apache.commons.lang3.StringUtils;
+import org.company.util.ConfigRegistry;
+import org.company.util.LogUtils;
+
+/**
+ * Tracks the result sets handed out on each thread, so cursors that are never closed can be
+ * reported and closed at scenario end instead of piling up on the database server.
+ */
+class CursorTracker {
+
+  private static final int PURGE_THRESHOLD = 64;
+  private static final int MAX_LOGGED_QUERY_LENGTH = 200;
+  private static final String SQL_PACKAGE = CursorTracker.class.getPackageName() + ".";
+  private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+  private static final boolean ENABLED = ConfigRegistry.getBoolean("dbTrackOpenCursors", true);
+  private static final ThreadLocal<Map<ResultSet, OpenCursor>> OPEN_CURSORS =
+      ThreadLocal.withInitial(IdentityHashMap::new);
+
+  private record OpenCursor(String sqlQuery, String openedBy, AutoCloseable closer) {}
+
+  static void track(ResultSet resultSet, String sqlQuery) {
+    track(resultSet, sqlQuery, resultSet);
+  }
+
+  static void track(ResultSet resultSet, String sqlQuery, AutoCloseable closer) {
+    if (!ENABLED) {
+      return;
+    }
+    var openCursors = OPEN_CURSORS.get();
+    if (openCursors.size() >= PURGE_THRESHOLD) {
+      openCursors.keySet().removeIf(CursorTracker::isClosed);
+    }
+    openCursors.put(resultSet, new OpenCursor(sqlQuery, getCaller(), closer));
+  }
+
+  static void untrack(ResultSet resultSet) {
+    if (ENABLED) {
+      OPEN_CURSORS.get().remove(resultSet);
+    }
+  }
+
+  static int getOpenCursorCount() {
+    if (!ENABLED) {
+      return 0;
+    }
+    var openCursors = OPEN_CURSORS.get();
+    openCursors.keySet().removeIf(CursorTracker::isClosed);
+    return openCursors.size();
+  }
+
+  static int closeOpenCursors() {
+    if (!ENABLED) {
+      return 0;
+    }
+    var openCursors = OPEN_CURSORS.get();
+    var leakedCursors = 0;
+    for (var resultSet : new ArrayList<>(openCursors.keySet())) {
+      var openCursor = openCursors.get(resultSet);
+      if (openCursor == null || isClosed(resultSet)) {
+        continue;
+      }
+      leakedCursors++;
+      LogUtils.warn(
+          "Closing result set left open by {} for sql query: {}",
+          openCursor.openedBy(),
+          StringUtils.abbreviate(openCursor.sqlQuery(), MAX_LOGGED_QUERY_LENGTH));
+      try {
+        openCursor.closer().close();
+      } catch (Exception e) {
+        LogUtils.warn("Unable to close result set for sql query: {}", openCursor.sqlQuery());
+      }
+    }
+    openCursors.clear();
+    QueryMetrics.recordLeakedCursors(leakedCursors);
+    return leakedCursors;
+  }
+
+  private static boolean isClosed(ResultSet resultSet) {
+    try {
+      return resultSet.isClosed();
+    } catch (SQLException e) {
+      return true;
+    }
+  }
+
+  private static String getCaller() {
+    return STACK_WALKER.walk(
+        stackFrames ->
+            stackFrames
+                .filter(stackFrame -> !stackFrame.getClassName().startsWith(SQL_PACKAGE))
+                .findFirst()
+                .map(
+                    stackFrame ->
+                        stackFrame.getClassName()
+                            + "#"
+                            + stackFrame.getMethodName()
+                            + ":"
+                            + stackFrame.getLineNumber())
+                .orElse(StringUtils.EMPTY));
+  }
+}
@@ -0,0 +1,102 @@
+package org.company.util.sql;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.StringJoiner;
+import org.apache.commons.lang3.StringUtils;
+import org.company.util.ConfigRegistry;
+import org.company.util.LogUtils;
+
+/**
+ * SQL Server database snapshot of the fixture database. Restoring it reverts every change made
+ * since it was created, including DDL, but needs exclusive access to the database: the restore ends
+ * every other session on it.
+ */
+class DatabaseSnapshot {
+
+  private static final String SNAPSHOT_SUFFIX = "_fixture_snapshot";
+  private static final String SNAPSHOT_FILE_EXTENSION = ".ss";
+
+  private static volatile String createdSnapshot;
+
+  static synchronized void create(Connection connection) throws SQLException {
+    var databaseName = connection.getCatalog();
+    var snapshotName = getSnapshotName(databaseName);
+    if (snapshotName.equals(createdSnapshot)) {
+      return;
+    }
+    drop(connection, snapshotName);
+    var snapshotFiles = new StringJoiner(", ");
+    try (var statement = connection.createStatement();
+        var resultSet =
+            statement.executeQuery(
+                "SELECT name, physical_name FROM sys.database_files WHERE type = 0")) {
+      while (resultSet.next()) {
+        snapshotFiles.add(
+            String.format(
+                "(NAME = %s, FILENAME = '%s')",
+                quoteName(resultSet.getString(1)),
+                StringUtils.substringBeforeLast(resultSet.getString(2), ".")
+                    + SNAPSHOT_SUFFIX
+                    + SNAPSHOT_FILE_EXTENSION));
+      }
+    }
+    try (var statement = connection.createStatement()) {
+      statement.execute(
+          String.format(
+              "CREATE DATABASE %s ON %s AS SNAPSHOT OF %s",
+              quoteName(snapshotName), snapshotFiles, quoteName(databaseName)));
+    }
+    createdSnapshot = snapshotName;
+    LogUtils.debug("Database snapshot {} created for database {}", snapshotName, databaseName);
+  }
+
+  static synchronized void restore(Connection connection) throws SQLException {
+    var databaseName = connection.getCatalog();
+    var snapshotName = getSnapshotName(databaseName);
+    if (!snapshotName.equals(createdSnapshot)) {
+      LogUtils.warn("No database snapshot exists to restore database {}", databaseName);
+      return;
+    }
+    try (var statement = connection.createStatement()) {
+      statement.execute(
+          String.format(
+              "USE master; ALTER DATABASE %1$s SET SINGLE_USER WITH ROLLBACK IMMEDIATE;"
+                  + " RESTORE DATABASE %1$s FROM DATABASE_SNAPSHOT = '%2$s';"
+                  + " ALTER DATABASE %1$s SET MULTI_USER; USE %1$s;",
+              quoteName(databaseName), snapshotName));
+    }
+    LogUtils.debug("Database {} restored from snapshot {}", databaseName, snapshotName);
+  }
+
+  static boolean isCreated() {
+    return createdSnapshot != null;
+  }
+
+  static synchronized void drop(Connection connection) throws SQLException {
+    var snapshotName = createdSnapshot;
+    if (snapshotName != null) {
+      drop(connection, snapshotName);
+      createdSnapshot = null;
+    }
+  }
+
+  private static void drop(Connection connection, String snapshotName) throws SQLException {
+    try (var statement = connection.createStatement()) {
+      statement.execute(
+          String.format(
+              "IF EXISTS (SELECT 1 FROM sys.databases WHERE name = '%s'"
+                  + " AND source_database_id IS NOT NULL) DROP DATABASE %s",
+              snapshotName, quoteName(snapshotName)));
+    }
+  }
+
+  private static String getSnapshotName(String databaseName) {
+    return StringUtils.defaultIfBlank(
+        ConfigRegistry.getString("dbSnapshotName"), databaseName + SNAPSHOT_SUFFIX);
+  }
+
+  private static String quoteName(String name) {
+    return "[" + name.replace("]", "]]") + "]";
+  }
+}
@@ -1,146 +1,710 @@
 package org.company.util.sql;
 
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCopy;
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCopyOptions;
+import com.microsoft.sqlserver.jdbc.SQLServerConnection;
+import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.sql.*;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
 import org.company.exception.AutomationException;
-import org.company.util.FileUtils;
+import org.company.util.ConfigRegistry;
 import org.company.util.LogUtils;
 
 public class DatabaseUtils {
-  private static Connection connection;
+  private static final int DEFAULT_BATCH_SIZE = 1000;
+  private static final int DEFAULT_BULK_COPY_BATCH_SIZE = 10_000;
+  private static final int DEFAULT_BULK_COPY_TIMEOUT_SECONDS = 600;
+
+  private static final String TRANSACTION_ISOLATION = "transaction";
+  private static final ThreadLocal<FixtureTransaction> FIXTURE_TRANSACTION = new ThreadLocal<>();
+  private static final QueryCache QUERY_CACHE = QueryCache.getDefault();
+
+  private static volatile ConnectionPool connectionPool;
+
+  private record FixtureTransaction(Savepoint savepoint) {}
 
   public static boolean isDatabaseUpAndRunning() {
     try {
-      return connection.getMetaData() != null;
-    } catch (SQLException e) {
+      var pooledConnection = getConnectionPool().lease();
+      try {
+        return pooledConnection.getConnection().getMetaData() != null;
+      } finally {
+        releaseLease();
+      }
+    } catch (SQLException | AutomationException e) {
       return false;
     }
   }
 
   public static Connection getDatabaseConnection() {
-    var dbUrl = FileUtils.getPropertyValue("dbUrl");
-    var username = FileUtils.getPropertyValue("dbUsername");
-    var password = FileUtils.getPropertyValue("dbPassword");
-    try {
-      connection = DriverManager.getConnection(dbUrl, username, password);
-      LogUtils.debug("Database connection established");
-    } catch (SQLException e) {
-      LogUtils.error("Unable to establish db connection", e);
+    return getConnectionPool().lease().getConnection();
+  }
+
+  public static void releaseDatabaseConnection() {
+    var leakedCursors = CursorTracker.closeOpenCursors();
+    if (leakedCursors > 0) {
+      LogUtils.warn("Closed {} result sets left open on this thread", leakedCursors);
+    }
+    rollbackFixtureTransaction();
+    QUERY_CACHE.endTransaction();
+    var pool = connectionPool;
+    if (pool != null) {
+      pool.releaseAll();
     }
-    return connection;
   }
 
   public static void closeDatabaseConnection() {
-    if (connection != null) {
-      try {
-        connection.close();
-        LogUtils.debug("Database connection closed successfully");
-      } catch (SQLException e) {
-        LogUtils.error("Unable to close database connection", e);
+    var pool = connectionPool;
+    if (pool != null) {
+      synchronized (DatabaseUtils.class) {
+        pool.close();
+        connectionPool = null;
       }
     } else {
       LogUtils.debug("No connection exist that can be closed");
     }
   }
 
+  public static boolean isFixtureIsolationEnabled() {
+    return TRANSACTION_ISOLATION.equalsIgnoreCase(ConfigRegistry.getString("dbFixtureIsolation"));
+  }
+
+  public static void beginFixtureTransaction() {
+    if (FIXTURE_TRANSACTION.get() != null) {
+      return;
+    }
+    var connection = getConnectionPool().lease().getConnection();
+    try {
+      Savepoint savepoint = null;
+      if (connection.getAutoCommit()) {
+        connection.setAutoCommit(false);
+      } else {
+        savepoint = connection.setSavepoint();
+      }
+      FIXTURE_TRANSACTION.set(new FixtureTransaction(savepoint));
+      LogUtils.debug("Fixture transaction started");
+    } catch (SQLException e) {
+      releaseLease();
+      LogUtils.error("Unable to begin fixture transaction", e);
+    }
+  }
+
+  public static void rollbackFixtureTransaction() {
+    var fixtureTransaction = FIXTURE_TRANSACTION.get();
+    FIXTURE_TRANSACTION.remove();
+    var pool = connectionPool;
+    var pooledConnection = pool != null ? pool.getLease() : null;
+    if (fixtureTransaction == null || pooledConnection == null) {
+      return;
+    }
+    var connection = pooledConnection.getConnection();
+    try {
+      if (fixtureTransaction.savepoint() != null) {
+        connection.rollback(fixtureTransaction.savepoint());
+      } else {
+        connection.rollback();
+      }
+      LogUtils.debug("Fixture transaction rolled back");
+    } catch (SQLException e) {
+      LogUtils.warn("Unable to roll back fixture transaction", e.getMessage());
+    } finally {
+      if (fixtureTransaction.savepoint() == null) {
+        restoreAutoCommit(connection);
+      }
+      pool.release();
+      QUERY_CACHE.endTransaction();
+    }
+  }
+
+  public static void createDatabaseSnapshot() {
+    runOnConnection("CREATE DATABASE SNAPSHOT", DatabaseSnapshot::create);
+  }
+
+  public static void restoreDatabaseSnapshot() {
+    CursorTracker.closeOpenCursors();
+    rollbackFixtureTransaction();
+    var pool = getConnectionPool();
+    var otherLeases = pool.getLeasedCount() - (pool.hasLease() ? 1 : 0);
+    if (otherLeases > 0) {
+      LogUtils.warn(
+          "Restoring database snapshot while {} other connections are leased", otherLeases);
+    }
+    runOnConnection("RESTORE DATABASE SNAPSHOT", DatabaseSnapshot::restore);
+    QUERY_CACHE.invalidateAll();
+    pool.recycle();
+  }
+
+  public static void dropDatabaseSnapshot() {
+    if (!DatabaseSnapshot.isCreated()) {
+      return;
+    }
+    runOnConnection("DROP DATABASE SNAPSHOT", DatabaseSnapshot::drop);
+  }
+
+  private static void runOnConnection(String sqlQuery, SqlConnectionWork sqlConnectionWork) {
+    var pooledConnection = getConnectionPool().lease();
+    try {
+      sqlConnectionWork.run(pooledConnection.getConnection());
+    } catch (SQLException e) {
+      handleException(sqlQuery, pooledConnection, e);
+    } finally {
+      releaseLease();
+    }
+  }
+
+  private static void releaseLease() {
+    var pool = connectionPool;
+    if (pool != null) {
+      pool.release();
+    }
+  }
+
+  private static ConnectionPool getConnectionPool() {
+    var pool = connectionPool;
+    if (pool == null || pool.isClosed()) {
+      synchronized (DatabaseUtils.class) {
+        pool = connectionPool;
+        if (pool == null || pool.isClosed()) {
+          pool = new ConnectionPool();
+          connectionPool = pool;
+        }
+      }
+    }
+    return pool;
+  }
+
+  public static int getOpenResultSetCount() {
+    return CursorTracker.getOpenCursorCount();
+  }
+
+  public static QueryCacheStats getQueryCacheStats() {
+    return QUERY_CACHE.getStats();
+  }
+
+  public static void clearQueryCache() {
+    QUERY_CACHE.invalidateAll();
+  }
+
   public static ResultSet executeQuery(String sqlQuery) {
+    return executeQuery(sqlQuery, List.of());
+  }
+
+  public static ResultSet executeQuery(String sqlQuery, List<?> parameters) {
     ResultSet resultSet = null;
-    PreparedStatement preparedStatement = null;
+    var pooledConnection = getConnectionPool().lease();
+    var queryExecution = QueryMetrics.start(sqlQuery);
     try {
-      preparedStatement = connection.prepareStatement(sqlQuery);
-      resultSet = preparedStatement.executeQuery();
+      resultSet =
+          pooledConnection.executeQuery(prepareQuery(pooledConnection, sqlQuery, parameters, 0, 0));
+      queryExecution.fetched(QueryMetrics.UNKNOWN_ROW_COUNT, 0L);
+      CursorTracker.track(resultSet, sqlQuery);
     } catch (SQLException e) {
-      handleException(sqlQuery, preparedStatement, e);
+      queryExecution.failed();
+      try {
+        handleException(sqlQuery, pooledConnection, e);
+      } finally {
+        releaseLease();
+      }
     }
     return resultSet;
   }
 
-  public static void execute(String sqlQuery) {
-    PreparedStatement preparedStatement = null;
+  public static Stream<Map<String, String>> executeQueryAsStream(String sqlQuery) {
+    return executeQueryAsStream(sqlQuery, List.of(), 0, 0);
+  }
+
+  public static Stream<Map<String, String>> executeQueryAsStream(
+      String sqlQuery, List<?> parameters) {
+    return executeQueryAsStream(sqlQuery, parameters, 0, 0);
+  }
+
+  public static Stream<Map<String, String>> executeQueryAsStream(
+      String sqlQuery, int maxRows, int fetchSize) {
+    return executeQueryAsStream(sqlQuery, List.of(), maxRows, fetchSize);
+  }
+
+  public static Stream<Map<String, String>> executeQueryAsStream(
+      String sqlQuery, List<?> parameters, int maxRows, int fetchSize) {
+    return executeQueryAsStream(sqlQuery, parameters, maxRows, fetchSize, RowCursor::mapReader);
+  }
+
+  public static <T> Stream<T> executeQueryAsStream(String sqlQuery, Class<T> rowType) {
+    return executeQueryAsStream(sqlQuery, List.of(), rowType);
+  }
+
+  public static <T> Stream<T> executeQueryAsStream(
+      String sqlQuery, List<?> parameters, Class<T> rowType) {
+    return executeQueryAsStream(
+        sqlQuery,
+        parameters,
+        0,
+        0,
+        resultSetMetadata -> RowMapper.of(rowType, resultSetMetadata)::map);
+  }
+
+  public static <T> List<T> executeQueryAndMapRows(String sqlQuery, Class<T> rowType) {
+    return executeQueryAndMapRows(sqlQuery, List.of(), rowType);
+  }
+
+  public static <T> List<T> executeQueryAndMapRows(
+      String sqlQuery, List<?> parameters, Class<T> rowType) {
+    try (var rows = executeQueryAsStream(sqlQuery, parameters, rowType)) {
+      return rows.toList();
+    }
+  }
+
+  private static <T> Stream<T> executeQueryAsStream(
+      String sqlQuery,
+      List<?> parameters,
+      int maxRows,
+      int fetchSize,
+      RowCursor.RowReaderFactory<T> rowReaderFactory) {
+    var pooledConnection = getConnectionPool().lease();
+    var queryExecution = QueryMetrics.start(sqlQuery);
+    ResultSet resultSet = null;
     try {
-      preparedStatement = connection.prepareStatement(sqlQuery);
-      preparedStatement.execute();
+      resultSet =
+          pooledConnection.executeQuery(
+              prepareQuery(pooledConnection, sqlQuery, parameters, maxRows, fetchSize));
+      queryExecution.executed();
+      var rowCursor =
+          new RowCursor<>(
+              sqlQuery,
+              resultSet,
+              queryExecution,
+              rowReaderFactory.create(resultSet.getMetaData()),
+              DatabaseUtils::releaseLease);
+      CursorTracker.track(resultSet, sqlQuery, rowCursor);
+      return rowCursor.stream();
     } catch (SQLException e) {
-      handleException(sqlQuery, preparedStatement, e);
+      queryExecution.failed();
+      closeQuietly(sqlQuery, resultSet);
+      try {
+        handleException(sqlQuery, pooledConnection, e);
+      } finally {
+        releaseLease();
+      }
+    } catch (RuntimeException e) {
+      queryExecution.failed();
+      closeQuietly(sqlQuery, resultSet);
+      releaseLease();
+      throw e;
     }
+    return Stream.empty();
   }
 
-  private static void handleException(
-      String sqlQuery, PreparedStatement preparedStatement, SQLException e) {
-    if (preparedStatement != null) {
+  private static void closeQuietly(String sqlQuery, ResultSet resultSet) {
+    if (resultSet != null) {
       try {
-        preparedStatement.close();
-      } catch (SQLException ex) {
-        LogUtils.error(String.format("Unable to close statement: %s", sqlQuery), e);
+        resultSet.close();
+      } catch (SQLException e) {
+        LogUtils.warn("Unable to close result set for sql query: {}", sqlQuery);
       }
     }
+  }
+
+  private static PreparedStatement prepareQuery(
+      PooledConnection pooledConnection,
+      String sqlQuery,
+      List<?> parameters,
+      int maxRows,
+      int fetchSize)
+      throws SQLException {
+    var preparedStatement = pooledConnection.prepareStatement(sqlQuery);
+    bindParameters(preparedStatement, parameters);
+    preparedStatement.setMaxRows(Math.max(maxRows, 0));
+    preparedStatement.setFetchSize(Math.max(fetchSize, 0));
+    return preparedStatement;
+  }
+
+  private static void bindParameters(PreparedStatement preparedStatement, List<?> parameters)
+      throws SQLException {
+    for (int i = 0; i < parameters.size(); i++) {
+      var index = i + 1;
+      var parameter = parameters.get(i);
+      if (parameter == null) {
+        preparedStatement.setObject(index, null);
+      } else if (parameter instanceof String value) {
+        preparedStatement.setString(index, value);
+      } else if (parameter instanceof Integer value) {
+        preparedStatement.setInt(index, value);
+      } else if (parameter instanceof Long value) {
+        preparedStatement.setLong(index, value);
+      } else if (parameter instanceof BigDecimal value) {
+        preparedStatement.setBigDecimal(index, value);
+      } else if (parameter instanceof Double value) {
+        preparedStatement.setDouble(index, value);
+      } else if (parameter instanceof Boolean value) {
+        preparedStatement.setBoolean(index, value);
+      } else if (parameter instanceof LocalDate value) {
+        preparedStatement.setDate(index, Date.valueOf(value));
+      } else if (parameter instanceof LocalDateTime value) {
+        preparedStatement.setTimestamp(index, Timestamp.valueOf(value));
+      } else if (parameter instanceof byte[] value) {
+        preparedStatement.setBytes(index, value);
+      } else {
+        preparedStatement.setObject(index, parameter);
+      }
+    }
+  }
+
+  public static void execute(String sqlQuery) {
+    execute(sqlQuery, List.of());
+  }
+
+  public static void execute(String sqlQuery, List<?> parameters) {
+    var pooledConnection = getConnectionPool().lease();
+    var queryExecution = QueryMetrics.start(sqlQuery);
+    var inTransaction = false;
+    try {
+      inTransaction = !pooledConnection.getConnection().getAutoCommit();
+      var preparedStatement = pooledConnection.prepareStatement(sqlQuery);
+      bindParameters(preparedStatement, parameters);
+      var hasResultSet = preparedStatement.execute();
+      queryExecution.fetched(
+          hasResultSet ? QueryMetrics.UNKNOWN_ROW_COUNT : preparedStatement.getUpdateCount(), 0L);
+    } catch (SQLException e) {
+      queryExecution.failed();
+      handleException(sqlQuery, pooledConnection, e);
+    } finally {
+      QUERY_CACHE.invalidate(sqlQuery, inTransaction);
+      releaseLease();
+    }
+  }
+
+  public static List<BatchResult> executeBatch(
+      String sqlQuery, Stream<? extends List<?>> parameterRows) {
+    return executeBatch(
+        sqlQuery, parameterRows, ConfigRegistry.getInt("dbBatchSize", DEFAULT_BATCH_SIZE));
+  }
+
+  public static List<BatchResult> executeBatch(
+      String sqlQuery, Stream<? extends List<?>> parameterRows, int batchSize) {
+    var batchResults = new ArrayList<BatchResult>();
+    try (parameterRows) {
+      inTransaction(
+          sqlQuery,
+          pooledConnection -> {
+            var preparedStatement = pooledConnection.prepareStatement(sqlQuery);
+            var rowCount = 0;
+            for (var iterator = parameterRows.iterator(); iterator.hasNext(); ) {
+              bindParameters(preparedStatement, iterator.next());
+              preparedStatement.addBatch();
+              if (++rowCount == Math.max(batchSize, 1)) {
+                batchResults.add(executeBatch(sqlQuery, preparedStatement, batchResults, rowCount));
+                rowCount = 0;
+              }
+            }
+            if (rowCount > 0) {
+              batchResults.add(executeBatch(sqlQuery, preparedStatement, batchResults, rowCount));
+            }
+          });
+    }
+    LogUtils.debug(
+        "Executed {} rows in {} batches for sql query: {}",
+        BatchResult.getTotalRowCount(batchResults),
+        batchResults.size(),
+        sqlQuery);
+    return batchResults;
+  }
+
+  private static BatchResult executeBatch(
+      String sqlQuery,
+      PreparedStatement preparedStatement,
+      List<BatchResult> batchResults,
+      int rowCount)
+      throws SQLException {
+    var queryExecution = QueryMetrics.start(sqlQuery);
+    var startTime = System.nanoTime();
+    var updateCount = 0L;
+    try {
+      for (var count : preparedStatement.executeBatch()) {
+        if (count == Statement.SUCCESS_NO_INFO) {
+          updateCount = BatchResult.UNKNOWN_UPDATE_COUNT;
+          break;
+        }
+        updateCount += count;
+      }
+    } catch (SQLException e) {
+      queryExecution.failed();
+      throw e;
+    }
+    queryExecution.fetched(updateCount, 0L);
+    return new BatchResult(
+        batchResults.size() + 1,
+        rowCount,
+        updateCount,
+        Duration.ofNanos(System.nanoTime() - startTime));
+  }
+
+  public static List<BatchResult> bulkCopy(String tableName, Path csvFile) {
+    return bulkCopy(
+        tableName,
+        connection -> BulkCopySource.fromCsv(connection, tableName, csvFile),
+        ConfigRegistry.getInt("dbBulkCopyBatchSize", DEFAULT_BULK_COPY_BATCH_SIZE));
+  }
+
+  public static List<BatchResult> bulkCopy(
+      String tableName, List<String> columnNames, Stream<? extends List<?>> rows) {
+    try (rows) {
+      return bulkCopy(
+          tableName,
+          connection ->
+              BulkCopySource.fromRows(connection, tableName, columnNames, rows.iterator()),
+          ConfigRegistry.getInt("dbBulkCopyBatchSize", DEFAULT_BULK_COPY_BATCH_SIZE));
+    }
+  }
+
+  private static List<BatchResult> bulkCopy(
+      String tableName, BulkCopySourceFactory bulkCopySourceFactory, int batchSize) {
+    var bulkCopyQuery = "BULK COPY " + tableName;
+    var batchResults = new ArrayList<BatchResult>();
+    inTransaction(
+        bulkCopyQuery,
+        pooledConnection -> {
+          var connection = pooledConnection.getConnection();
+          if (!connection.isWrapperFor(SQLServerConnection.class)) {
+            throw new SQLException("Bulk copy requires a SQL Server connection");
+          }
+          try (var bulkCopySource = bulkCopySourceFactory.create(connection);
+              var bulkCopy = new SQLServerBulkCopy(connection.unwrap(SQLServerConnection.class))) {
+            bulkCopy.setDestinationTableName(tableName);
+            var bulkCopyOptions = new SQLServerBulkCopyOptions();
+            bulkCopyOptions.setKeepIdentity(true);
+            bulkCopyOptions.setKeepNulls(true);
+            bulkCopyOptions.setBatchSize(Math.max(batchSize, 1));
+            bulkCopyOptions.setBulkCopyTimeout(
+                ConfigRegistry.getInt(
+                    "dbBulkCopyTimeoutSeconds", DEFAULT_BULK_COPY_TIMEOUT_SECONDS));
+            bulkCopy.setBulkCopyOptions(bulkCopyOptions);
+            var columnNames = bulkCopySource.getColumnNames();
+            for (int i = 0; i < columnNames.length; i++) {
+              bulkCopy.addColumnMapping(i + 1, columnNames[i]);
+            }
+            while (bulkCopySource.nextChunk(batchSize)) {
+              var queryExecution = QueryMetrics.start(bulkCopyQuery);
+              var startTime = System.nanoTime();
+              try {
+                bulkCopy.writeToServer(bulkCopySource);
+              } catch (SQLException e) {
+                queryExecution.failed();
+                throw e;
+              }
+              var rowCount = bulkCopySource.getChunkRowCount();
+              queryExecution.fetched(rowCount, 0L);
+              batchResults.add(
+                  new BatchResult(
+                      batchResults.size() + 1,
+                      rowCount,
+                      rowCount,
+                      Duration.ofNanos(System.nanoTime() - startTime)));
+            }
+          }
+        });
+    LogUtils.debug(
+        "Bulk copied {} rows in {} batches into table {}",
+        BatchResult.getTotalRowCount(batchResults),
+        batchResults.size(),
+        tableName);
+    return batchResults;
+  }
+
+  private static void inTransaction(String sqlQuery, SqlWork sqlWork) {
+    var pooledConnection = getConnectionPool().lease();
+    var connection = pooledConnection.getConnection();
+    var ownsTransaction = false;
+    try {
+      ownsTransaction = connection.getAutoCommit();
+      if (ownsTransaction) {
+        connection.setAutoCommit(false);
+      }
+      sqlWork.run(pooledConnection);
+      if (ownsTransaction) {
+        connection.commit();
+      }
+    } catch (SQLException e) {
+      if (ownsTransaction) {
+        rollbackQuietly(connection);
+      }
+      handleException(sqlQuery, pooledConnection, e);
+    } catch (RuntimeException e) {
+      if (ownsTransaction) {
+        rollbackQuietly(connection);
+      }
+      throw e;
+    } finally {
+      if (ownsTransaction) {
+        restoreAutoCommit(connection);
+      }
+      QUERY_CACHE.invalidate(sqlQuery, !ownsTransaction);
+      releaseLease();
+    }
+  }
+
+  private static void rollbackQuietly(Connection connection) {
+    try {
+      connection.rollback();
+    } catch (SQLException e) {
+      LogUtils.warn("Unable to roll back transaction", e.getMessage());
+    }
+  }
+
+  private static void restoreAutoCommit(Connection connection) {
+    try {
+      connection.setAutoCommit(true);
+    } catch (SQLException e) {
+      LogUtils.warn("Unable to restore auto commit", e.getMessage());
+    }
+  }
+
+  @FunctionalInterface
+  private interface SqlWork {
+    void run(PooledConnection pooledConnection) throws SQLException;
+  }
+
+  @FunctionalInterface
+  private interface SqlConnectionWork {
+    void run(Connection connection) throws SQLException;
+  }
+
+  @FunctionalInterface
+  private interface BulkCopySourceFactory {
+    BulkCopySource create(Connection connection) throws SQLException;
+  }
+
+  private static void handleException(
+      String sqlQuery, PooledConnection pooledConnection, SQLException e) {
+    pooledConnection.evictStatement(sqlQuery);
     LogUtils.error(String.format("Unable to execute sql query: %s", sqlQuery), e);
   }
 
+  public static ResultTable executeQueryAndGetResultTable(String sqlQuery) {
+    return executeQueryAndGetResultTable(sqlQuery, List.of());
+  }
+
+  public static ResultTable executeQueryAndGetResultTable(String sqlQuery, List<?> parameters) {
+    return QUERY_CACHE.get(sqlQuery, parameters, () -> readResultTable(sqlQuery, parameters));
+  }
+
+  private static ResultTable readResultTable(String sqlQuery, List<?> parameters) {
+    var pooledConnection = getConnectionPool().lease();
+    var queryExecution = QueryMetrics.start(sqlQuery);
+    try (var resultSet =
+        pooledConnection.executeQuery(prepareQuery(pooledConnection, sqlQuery, parameters, 0, 0))) {
+      queryExecution.executed();
+      var resultTable = ResultTable.read(resultSet);
+      queryExecution.fetched(resultTable.rowCount());
+      return resultTable;
+    } catch (SQLException e) {
+      queryExecution.failed();
+      handleException(sqlQuery, pooledConnection, e);
+    } finally {
+      releaseLease();
+    }
+    return null;
+  }
+
   public static Map<Integer, Map<String, String>> executeQueryAndGetResult(String sqlQuery) {
+    return executeQueryAndGetResult(sqlQuery, List.of());
+  }
+
+  public static Map<Integer, Map<String, String>> executeQueryAndGetResult(
+      String sqlQuery, List<?> parameters) {
     var resultMap = new LinkedHashMap<Integer, Map<String, String>>();
-    var resultSet = executeQuery(sqlQuery);
-    if (resultSet != null) {
-      try {
-        var resultSetMetadata = resultSet.getMetaData();
-        var columnCount = resultSetMetadata.getColumnCount();
-        int i = 1;
-        while (resultSet.next()) {
-          var columnNameAndValue = new LinkedHashMap<String, String>();
-          for (int j = 1; j <= columnCount; j++) {
-            columnNameAndValue.put(resultSetMetadata.getColumnName(j), resultSet.getString(j));
-          }
-          resultMap.put(i, columnNameAndValue);
-          i++;
-        }
-      } catch (SQLException e) {
-        LogUtils.error(
-            String.format("Unable to execute sql query and get result: %s", sqlQuery), e);
-      }
+    var rows = executeQueryAndGetResultTable(sqlQuery, parameters).asMaps();
+    for (int i = 0; i < rows.size(); i++) {
+      resultMap.put(i + 1, rows.get(i));
     }
     return resultMap;
   }
 
   public static Map<String, String> executeQueryAndGetSingleResult(String sqlQuery) {
-    return executeQueryAndGetResult(sqlQuery).get(1);
+    return executeQueryAndGetSingleResult(sqlQuery, List.of());
+  }
+
+  public static Map<String, String> executeQueryAndGetSingleResult(
+      String sqlQuery, List<?> parameters) {
+    var queryResult = executeQueryAndGetTopNRows(sqlQuery, parameters, 1);
+    return !queryResult.isEmpty() ? queryResult.get(0) : null;
   }
 
   public static List<Map<String, String>> executeQueryAndGetTopNRows(
       String sqlQuery, int numOfRows) {
-    return executeQueryAndGetResult(sqlQuery).values().stream().limit(numOfRows).toList();
+    return executeQueryAndGetTopNRows(sqlQuery, List.of(), numOfRows);
+  }
+
+  public static List<Map<String, String>> executeQueryAndGetTopNRows(
+      String sqlQuery, List<?> parameters, int numOfRows) {
+    if (numOfRows <= 0) {
+      return List.of();
+    }
+    try (var rows = executeQueryAsStream(sqlQuery, parameters, numOfRows, numOfRows)) {
+      return rows.limit(numOfRows).toList();
+    }
   }
 
   public static List<Map<String, String>> executeQueryAndGetAllRows(String sqlQuery) {
-    return executeQueryAndGetResult(sqlQuery).values().stream().toList();
+    return executeQueryAndGetAllRows(sqlQuery, List.of());
+  }
+
+  public static List<Map<String, String>> executeQueryAndGetAllRows(
+      String sqlQuery, List<?> parameters) {
+    return executeQueryAndGetResultTable(sqlQuery, parameters).asMaps();
   }
 
   public static List<Map<String, String>> executeQueryAndGetTopNRowsForColumnNames(
       String sqlQuery, List<String> columnNames, int numOfRows) {
-    var queryResult = executeQueryAndGetTopNRows(sqlQuery, numOfRows);
+    return executeQueryAndGetTopNRowsForColumnNames(sqlQuery, List.of(), columnNames, numOfRows);
+  }
+
+  public static List<Map<String, String>> executeQueryAndGetTopNRowsForColumnNames(
+      String sqlQuery, List<?> parameters, List<String> columnNames, int numOfRows) {
+    var queryResult = executeQueryAndGetTopNRows(sqlQuery, parameters, numOfRows);
     return queryResult.stream().map(row -> getSingleRowForColumnNames(row, columnNames)).toList();
   }
 
   public static List<Map<String, String>> executeQueryAndGetAllRowsForColumnNames(
       String sqlQuery, List<String> columnNames) {
-    var queryResult = executeQueryAndGetAllRows(sqlQuery);
+    return executeQueryAndGetAllRowsForColumnNames(sqlQuery, List.of(), columnNames);
+  }
+
+  public static List<Map<String, String>> executeQueryAndGetAllRowsForColumnNames(
+      String sqlQuery, List<?> parameters, List<String> columnNames) {
+    var queryResult = executeQueryAndGetAllRows(sqlQuery, parameters);
     return queryResult.stream().map(row -> getSingleRowForColumnNames(row, columnNames)).toList();
   }
 
   public static String executeQueryAndGetValueForColumnNumber(String sqlQuery, int columnNum) {
+    return executeQueryAndGetValueForColumnNumber(sqlQuery, List.of(), columnNum);
+  }
+
+  public static String executeQueryAndGetValueForColumnNumber(
+      String sqlQuery, List<?> parameters, int columnNum) {
     if (columnNum == 0) throw new AutomationException("Column number can't be zero");
     var queryResult =
         executeQueryAndGetTopNRows(
-            sqlQuery, 1); // decrement by 1 as ResultSet column number starts with '0'
+            sqlQuery, parameters, 1); // decrement by 1 as ResultSet column number starts with '0'
     return !queryResult.isEmpty()
         ? queryResult.get(0).values().stream().toList().get(columnNum - 1)
         : StringUtils.EMPTY;
   }
 
   public static String executeQueryAndGetValueForColumnName(String sqlQuery, String columnName) {
-    var queryResult = executeQueryAndGetTopNRows(sqlQuery, 1);
+    return executeQueryAndGetValueForColumnName(sqlQuery, List.of(), columnName);
+  }
+
+  public static String executeQueryAndGetValueForColumnName(
+      String sqlQuery, List<?> parameters, String columnName) {
+    var queryResult = executeQueryAndGetTopNRows(sqlQuery, parameters, 1);
     return !queryResult.isEmpty() ? queryResult.get(0).get(columnName) : StringUtils.EMPTY;
   }
 
@@ -0,0 +1,160 @@
+package org.company.util.sql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.company.util.LogUtils;
+
+class PooledConnection {
+
+  private final Connection connection;
+  private final int generation;
+  private final Map<String, PreparedStatement> statementCache;
+  private final Map<PreparedStatement, ResultSet> openResultSets = new IdentityHashMap<>();
+  private final Map<PreparedStatement, String> detachedStatements = new IdentityHashMap<>();
+  private int holdCount;
+
+  PooledConnection(Connection connection, int generation, int statementCacheSize) {
+    this.connection = connection;
+    this.generation = generation;
+    this.statementCache =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+            if (size() > statementCacheSize) {
+              detachOrClose(eldest.getKey(), eldest.getValue());
+              return true;
+            }
+            return false;
+          }
+        };
+  }
+
+  Connection getConnection() {
+    return connection;
+  }
+
+  int getGeneration() {
+    return generation;
+  }
+
+  /**
+   * Returns the cached statement for the sql query, or a detached one while the cached statement
+   * still has an open result set, since executing it again would close that result set.
+   */
+  PreparedStatement prepareStatement(String sqlQuery) throws SQLException {
+    closeIdleDetachedStatements();
+    var preparedStatement = statementCache.get(sqlQuery);
+    if (preparedStatement != null && hasOpenResultSet(preparedStatement)) {
+      preparedStatement = connection.prepareStatement(sqlQuery);
+      detachedStatements.put(preparedStatement, sqlQuery);
+    } else if (preparedStatement == null || preparedStatement.isClosed()) {
+      preparedStatement = connection.prepareStatement(sqlQuery);
+      statementCache.put(sqlQuery, preparedStatement);
+    } else {
+      preparedStatement.clearParameters();
+    }
+    return preparedStatement;
+  }
+
+  ResultSet executeQuery(PreparedStatement preparedStatement) throws SQLException {
+    var resultSet = preparedStatement.executeQuery();
+    openResultSets.put(preparedStatement, resultSet);
+    return resultSet;
+  }
+
+  void evictStatement(String sqlQuery) {
+    var preparedStatement = statementCache.remove(sqlQuery);
+    if (preparedStatement != null) {
+      detachOrClose(sqlQuery, preparedStatement);
+    }
+  }
+
+  boolean isValid(int validationTimeoutInSeconds) {
+    try {
+      return !connection.isClosed() && connection.isValid(validationTimeoutInSeconds);
+    } catch (SQLException e) {
+      return false;
+    }
+  }
+
+  int acquire() {
+    return ++holdCount;
+  }
+
+  int release() {
+    return holdCount > 0 ? --holdCount : 0;
+  }
+
+  void resetHoldCount() {
+    holdCount = 0;
+  }
+
+  int getHoldCount() {
+    return holdCount;
+  }
+
+  void close() {
+    statementCache.forEach(PooledConnection::closeQuietly);
+    statementCache.clear();
+    detachedStatements.forEach(
+        (preparedStatement, sqlQuery) -> closeQuietly(sqlQuery, preparedStatement));
+    detachedStatements.clear();
+    openResultSets.clear();
+    try {
+      connection.close();
+    } catch (SQLException e) {
+      LogUtils.warn("Unable to close pooled database connection", e.getMessage());
+    }
+  }
+
+  private void detachOrClose(String sqlQuery, PreparedStatement preparedStatement) {
+    if (hasOpenResultSet(preparedStatement)) {
+      detachedStatements.put(preparedStatement, sqlQuery);
+    } else {
+      closeQuietly(sqlQuery, preparedStatement);
+    }
+  }
+
+  private void closeIdleDetachedStatements() {
+    detachedStatements
+        .entrySet()
+        .removeIf(
+            detachedStatement -> {
+              if (hasOpenResultSet(detachedStatement.getKey())) {
+                return false;
+              }
+              closeQuietly(detachedStatement.getValue(), detachedStatement.getKey());
+              return true;
+            });
+  }
+
+  private boolean hasOpenResultSet(PreparedStatement preparedStatement) {
+    var resultSet = openResultSets.get(preparedStatement);
+    if (resultSet != null && !isClosed(resultSet)) {
+      return true;
+    }
+    openResultSets.remove(preparedStatement);
+    return false;
+  }
+
+  private static boolean isClosed(ResultSet resultSet) {
+    try {
+      return resultSet.isClosed();
+    } catch (SQLException e) {
+      return true;
+    }
+  }
+
+  private static void closeQuietly(String sqlQuery, PreparedStatement preparedStatement) {
+    try {
+      preparedStatement.close();
+    } catch (SQLException e) {
+      LogUtils.warn("Unable to close cached statement: {}", sqlQuery);
+    }
+  }
+}
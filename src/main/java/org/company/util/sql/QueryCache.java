@@ -0,0 +1,215 @@
+package org.company.util.sql;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.company.util.ConfigRegistry;
+import org.company.util.ExpiringCache;
+import org.company.util.LogUtils;
+
+/**
+ * Read-through cache of materialized query results, keyed by the whitespace normalized sql query
+ * and its parameters. Entries are dropped when a statement executed through {@link DatabaseUtils}
+ * writes to a table the cached query mentions. Writes made inside an open transaction also make the
+ * writing thread bypass the cache for those tables until the transaction ends, so it never reads
+ * results that other threads cannot see yet.
+ */
+class QueryCache {
+
+  private static final int DEFAULT_MAX_ENTRIES = 500;
+  private static final long DEFAULT_TTL_MS = 60_000L;
+  private static final String ALL_TABLES = "*";
+  private static final String NAME = "(?:\\[[^\\]]+\\]|\"[^\"]+\"|[\\w#@$]+)";
+  private static final String QUALIFIED_NAME = NAME + "(?:\\s*\\.\\s*" + NAME + ")*";
+  private static final Pattern WRITTEN_TABLE =
+      Pattern.compile(
+          "\\b(?:BULK\\s+(?:COPY|INSERT)\\s+|INSERT\\s+(?:INTO\\s+)?|UPDATE\\s+"
+              + "|DELETE\\s+(?:FROM\\s+)?|MERGE\\s+(?:INTO\\s+)?|INTO\\s+|TRUNCATE\\s+TABLE\\s+"
+              + "|(?:DROP|ALTER)\\s+TABLE\\s+(?:IF\\s+EXISTS\\s+)?|FROM\\s+|JOIN\\s+)("
+              + QUALIFIED_NAME
+              + ")",
+          Pattern.CASE_INSENSITIVE);
+  private static final Pattern READ_ONLY_QUERY =
+      Pattern.compile("^\\s*(?:SELECT|WITH)\\b", Pattern.CASE_INSENSITIVE);
+  private static final Pattern WRITE_KEYWORD =
+      Pattern.compile(
+          "\\b(?:INTO|INSERT|UPDATE|DELETE|MERGE|TRUNCATE|DROP|ALTER|CREATE|EXEC|EXECUTE)\\b",
+          Pattern.CASE_INSENSITIVE);
+  private static final Pattern IDENTIFIER =
+      Pattern.compile("\\[([^\\]]+)\\]|\"([^\"]+)\"|([\\w#@$]+)");
+  private static final Set<String> NON_DETERMINISTIC_FUNCTIONS =
+      Set.of(
+          "newid",
+          "rand",
+          "getdate",
+          "getutcdate",
+          "sysdatetime",
+          "sysutcdatetime",
+          "sysdatetimeoffset",
+          "current_timestamp",
+          "crypt_gen_random");
+
+  private static final QueryCache DEFAULT_QUERY_CACHE =
+      new QueryCache(
+          ConfigRegistry.getBoolean("dbQueryCacheEnabled", false),
+          ConfigRegistry.getDuration("dbQueryCacheTtlMs", Duration.ofMillis(DEFAULT_TTL_MS)),
+          ConfigRegistry.getInt("dbQueryCacheMaxEntries", DEFAULT_MAX_ENTRIES));
+
+  private final boolean enabled;
+  private final ExpiringCache<CacheKey, ResultTable> cache;
+  private final LongAdder invalidations = new LongAdder();
+  private final ThreadLocal<Set<String>> uncommittedTables = ThreadLocal.withInitial(HashSet::new);
+
+  private record CacheKey(String sqlQuery, List<Object> parameters, Set<String> identifiers) {}
+
+  QueryCache(boolean enabled, Duration ttl, int maxEntries) {
+    this.enabled = enabled;
+    this.cache = new ExpiringCache<>(ttl, maxEntries);
+  }
+
+  static QueryCache getDefault() {
+    return DEFAULT_QUERY_CACHE;
+  }
+
+  boolean isEnabled() {
+    return enabled;
+  }
+
+  ResultTable get(String sqlQuery, List<?> parameters, Supplier<ResultTable> loader) {
+    if (!enabled || !isReadOnlyQuery(sqlQuery)) {
+      return loader.get();
+    }
+    var identifiers = getIdentifiers(sqlQuery);
+    if (hasUncommittedWrites(identifiers)
+        || !Collections.disjoint(identifiers, NON_DETERMINISTIC_FUNCTIONS)
+        || identifiers.stream().anyMatch(identifier -> identifier.startsWith("#"))
+        || parameters.stream().anyMatch(parameter -> parameter instanceof byte[])) {
+      return loader.get();
+    }
+    var cacheKey =
+        new CacheKey(
+            normalize(sqlQuery),
+            Collections.unmodifiableList(new ArrayList<>(parameters)),
+            identifiers);
+    return cache.get(cacheKey, key -> loader.get());
+  }
+
+  void invalidate(String sqlQuery, boolean inTransaction) {
+    if (!enabled || isReadOnlyQuery(sqlQuery)) {
+      return;
+    }
+    var writtenTables = getWrittenTables(sqlQuery);
+    if (writtenTables.isEmpty()) {
+      writtenTables = Set.of(ALL_TABLES);
+    }
+    if (inTransaction) {
+      uncommittedTables.get().addAll(writtenTables);
+    }
+    invalidateTables(writtenTables);
+  }
+
+  void endTransaction() {
+    if (!enabled) {
+      return;
+    }
+    var tables = uncommittedTables.get();
+    if (!tables.isEmpty()) {
+      invalidateTables(tables);
+      tables.clear();
+    }
+  }
+
+  void invalidateAll() {
+    if (enabled) {
+      invalidations.add(cache.size());
+      cache.invalidateAll();
+    }
+  }
+
+  QueryCacheStats getStats() {
+    return new QueryCacheStats(
+        cache.getHitCount(),
+        cache.getMissCount(),
+        cache.getEvictionCount(),
+        invalidations.sum(),
+        cache.size());
+  }
+
+  static Set<String> getWrittenTables(String sqlQuery) {
+    var writtenTables = new HashSet<String>();
+    var matcher = WRITTEN_TABLE.matcher(sqlQuery);
+    while (matcher.find()) {
+      var tableName = StringUtils.substringAfterLast("." + matcher.group(1), ".").trim();
+      writtenTables.add(StringUtils.strip(tableName, "[]\"").toLowerCase());
+    }
+    return writtenTables;
+  }
+
+  private static boolean isReadOnlyQuery(String sqlQuery) {
+    return READ_ONLY_QUERY.matcher(sqlQuery).find() && !WRITE_KEYWORD.matcher(sqlQuery).find();
+  }
+
+  private boolean hasUncommittedWrites(Set<String> identifiers) {
+    var tables = uncommittedTables.get();
+    return !tables.isEmpty()
+        && (tables.contains(ALL_TABLES) || !Collections.disjoint(identifiers, tables));
+  }
+
+  private void invalidateTables(Set<String> tables) {
+    if (tables.contains(ALL_TABLES)) {
+      invalidateAll();
+      return;
+    }
+    cache.invalidateIf(
+        cacheKey -> {
+          if (Collections.disjoint(cacheKey.identifiers(), tables)) {
+            return false;
+          }
+          invalidations.increment();
+          return true;
+        });
+    LogUtils.debug("Query cache invalidated for tables {}", tables);
+  }
+
+  private static Set<String> getIdentifiers(String sqlQuery) {
+    var identifiers = new HashSet<String>();
+    var matcher = IDENTIFIER.matcher(sqlQuery);
+    while (matcher.find()) {
+      // a delimited name is kept whole, so it matches the written table name
+      var identifier =
+          ObjectUtils.firstNonNull(matcher.group(1), matcher.group(2), matcher.group(3));
+      identifiers.add(identifier.toLowerCase());
+    }
+    return identifiers;
+  }
+
+  private static String normalize(String sqlQuery) {
+    var normalizedQuery = new StringBuilder(sqlQuery.length());
+    var inLiteral = false;
+    var pendingSpace = false;
+    for (int i = 0; i < sqlQuery.length(); i++) {
+      var character = sqlQuery.charAt(i);
+      if (!inLiteral && Character.isWhitespace(character)) {
+        pendingSpace = normalizedQuery.length() > 0;
+        continue;
+      }
+      if (pendingSpace) {
+        normalizedQuery.append(' ');
+        pendingSpace = false;
+      }
+      if (character == '\'') {
+        inLiteral = !inLiteral;
+      }
+      normalizedQuery.append(character);
+    }
+    return normalizedQuery.toString();
+  }
+}
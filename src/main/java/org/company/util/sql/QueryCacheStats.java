@@ -0,0 +1,10 @@
+package org.company.util.sql;
+
+public record QueryCacheStats(
+    long hitCount, long missCount, long evictionCount, long invalidationCount, int size) {
+
+  public double getHitRatio() {
+    var requestCount = hitCount + missCount;
+    return requestCount > 0 ? (double) hitCount / requestCount : 0.0;
+  }
+}
@@ -0,0 +1,270 @@
+package org.company.util.sql;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import org.apache.commons.lang3.StringUtils;
+import org.company.util.ConfigRegistry;
+import org.company.util.LatencyHistogram;
+import org.company.util.LogUtils;
+import org.json.JSONObject;
+
+public class QueryMetrics {
+
+  static final long UNKNOWN_ROW_COUNT = -1L;
+
+  private static final Pattern STRING_LITERAL = Pattern.compile("N?'(?:[^']|'')*'");
+  private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.@#])-?\\d+(\\.\\d+)?\\b");
+  private static final Pattern VALUE_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+  private static final String PLACEHOLDER = "?";
+  private static final String VALUE_LIST_PLACEHOLDER = "(?)";
+  private static final String OTHER_QUERIES = "OTHER";
+  private static final int MAX_LOGGED_QUERY_LENGTH = 1000;
+  private static final int DEFAULT_MAX_FINGERPRINTS = 200;
+  private static final long DEFAULT_SLOW_QUERY_THRESHOLD_MS = 1000L;
+  private static final double[] PERCENTILES = {50, 90, 99};
+  private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99"};
+
+  private static final boolean ENABLED = ConfigRegistry.getBoolean("dbQueryMetricsEnabled", true);
+  private static final int MAX_FINGERPRINTS =
+      ConfigRegistry.getInt("dbQueryMetricsMaxFingerprints", DEFAULT_MAX_FINGERPRINTS);
+  private static final long SLOW_QUERY_THRESHOLD_NANOS =
+      ConfigRegistry.getDuration(
+              "dbSlowQueryThresholdMs", Duration.ofMillis(DEFAULT_SLOW_QUERY_THRESHOLD_MS))
+          .toNanos();
+  private static final Map<String, String> FINGERPRINTS = new ConcurrentHashMap<>();
+  private static final Map<String, QueryStats> QUERY_STATS = new ConcurrentHashMap<>();
+  private static final LongAdder LEAKED_CURSORS = new LongAdder();
+
+  public static String getFingerprint(String sqlQuery) {
+    var fingerprint = FINGERPRINTS.get(sqlQuery);
+    if (fingerprint == null) {
+      fingerprint = STRING_LITERAL.matcher(sqlQuery).replaceAll(PLACEHOLDER);
+      fingerprint = NUMBER_LITERAL.matcher(fingerprint).replaceAll(PLACEHOLDER);
+      fingerprint = VALUE_LIST.matcher(fingerprint).replaceAll(VALUE_LIST_PLACEHOLDER);
+      fingerprint = WHITESPACE.matcher(fingerprint).replaceAll(StringUtils.SPACE).trim();
+      if (FINGERPRINTS.size() >= MAX_FINGERPRINTS * 10) {
+        FINGERPRINTS.clear();
+      }
+      FINGERPRINTS.put(sqlQuery, fingerprint);
+    }
+    return fingerprint;
+  }
+
+  public static JSONObject toJson() {
+    var queries = new JSONObject();
+    new TreeMap<>(QUERY_STATS).forEach((query, stats) -> queries.put(query, stats.toJson()));
+    var metricsJson =
+        new JSONObject()
+            .put("slowQueryThresholdMs", toMillis(SLOW_QUERY_THRESHOLD_NANOS))
+            .put("leakedCursors", LEAKED_CURSORS.sum())
+            .put("queries", queries);
+    var queryCache = QueryCache.getDefault();
+    if (queryCache.isEnabled()) {
+      var queryCacheStats = queryCache.getStats();
+      metricsJson.put(
+          "queryCache",
+          new JSONObject()
+              .put("hits", queryCacheStats.hitCount())
+              .put("misses", queryCacheStats.missCount())
+              .put("hitRatio", Math.round(queryCacheStats.getHitRatio() * 1000) / 1000.0)
+              .put("evictions", queryCacheStats.evictionCount())
+              .put("invalidations", queryCacheStats.invalidationCount())
+              .put("size", queryCacheStats.size()));
+    }
+    return metricsJson;
+  }
+
+  public static void exportJson(Path file) {
+    try {
+      Files.createDirectories(file.toAbsolutePath().getParent());
+      Files.writeString(file, toJson().toString(2));
+    } catch (IOException e) {
+      LogUtils.error(String.format("Unable to export query metrics to %s", file), e);
+    }
+    LogUtils.debug("Query metrics for {} queries exported to {}", QUERY_STATS.size(), file);
+  }
+
+  public static void exportSummary(Path file) {
+    var summary = new Properties();
+    QUERY_STATS.forEach((query, stats) -> summary.put(query, stats.getSummary()));
+    try {
+      Files.createDirectories(file.toAbsolutePath().getParent());
+      try (OutputStream outputStream = Files.newOutputStream(file)) {
+        summary.store(outputStream, "Sql query timings");
+      }
+    } catch (IOException e) {
+      LogUtils.error(String.format("Unable to export query metrics summary to %s", file), e);
+    }
+  }
+
+  public static void reset() {
+    QUERY_STATS.clear();
+    LEAKED_CURSORS.reset();
+  }
+
+  static QueryExecution start(String sqlQuery) {
+    return new QueryExecution(sqlQuery);
+  }
+
+  static void recordLeakedCursors(int leakedCursors) {
+    LEAKED_CURSORS.add(leakedCursors);
+  }
+
+  private static QueryStats getQueryStats(String sqlQuery) {
+    var fingerprint = getFingerprint(sqlQuery);
+    var queryStats = QUERY_STATS.get(fingerprint);
+    if (queryStats == null) {
+      if (QUERY_STATS.size() >= MAX_FINGERPRINTS) {
+        fingerprint = OTHER_QUERIES;
+      }
+      queryStats = QUERY_STATS.computeIfAbsent(fingerprint, key -> new QueryStats());
+    }
+    return queryStats;
+  }
+
+  private static double toMillis(long nanos) {
+    return Math.round(nanos / 10_000.0) / 100.0;
+  }
+
+  static final class QueryExecution {
+
+    private final String sqlQuery;
+    private final long startTime;
+    private long executionTime = -1L;
+    private boolean finished;
+
+    private QueryExecution(String sqlQuery) {
+      this.sqlQuery = sqlQuery;
+      this.startTime = System.nanoTime();
+    }
+
+    void executed() {
+      executionTime = System.nanoTime() - startTime;
+    }
+
+    void fetched(long rowCount) {
+      fetched(rowCount, System.nanoTime() - startTime - executionTime);
+    }
+
+    void fetched(long rowCount, long fetchTime) {
+      if (finished) {
+        return;
+      }
+      finished = true;
+      if (executionTime < 0) {
+        executed();
+      }
+      if (ENABLED) {
+        getQueryStats(sqlQuery).record(executionTime, fetchTime, rowCount, false);
+      }
+      logIfSlow(rowCount, fetchTime);
+    }
+
+    void failed() {
+      if (finished) {
+        return;
+      }
+      finished = true;
+      if (executionTime < 0) {
+        executed();
+      }
+      if (ENABLED) {
+        getQueryStats(sqlQuery).record(executionTime, 0L, UNKNOWN_ROW_COUNT, true);
+      }
+    }
+
+    private void logIfSlow(long rowCount, long fetchTime) {
+      if (SLOW_QUERY_THRESHOLD_NANOS <= 0
+          || executionTime + fetchTime < SLOW_QUERY_THRESHOLD_NANOS) {
+        return;
+      }
+      LogUtils.warn(
+          "Slow sql query took {}ms (execute {}ms, fetch {}ms, rows {}): {}",
+          toMillis(executionTime + fetchTime),
+          toMillis(executionTime),
+          toMillis(fetchTime),
+          rowCount == UNKNOWN_ROW_COUNT ? "n/a" : rowCount,
+          StringUtils.abbreviate(sqlQuery, MAX_LOGGED_QUERY_LENGTH));
+    }
+  }
+
+  private static class QueryStats {
+
+    private final LatencyHistogram executionTimes = new LatencyHistogram();
+    private final LatencyHistogram totalTimes = new LatencyHistogram();
+    private final LongAdder fetchTime = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder slowCount = new LongAdder();
+    private final LongAdder rowCount = new LongAdder();
+    private final AtomicLong maxRowCount = new AtomicLong();
+
+    private void record(long executionTime, long fetchTime, long rows, boolean failed) {
+      executionTimes.recordMicros(executionTime / 1_000L);
+      totalTimes.recordMicros((executionTime + fetchTime) / 1_000L);
+      this.fetchTime.add(fetchTime);
+      if (failed) {
+        errorCount.increment();
+      }
+      if (SLOW_QUERY_THRESHOLD_NANOS > 0
+          && executionTime + fetchTime >= SLOW_QUERY_THRESHOLD_NANOS) {
+        slowCount.increment();
+      }
+      if (rows > 0) {
+        rowCount.add(rows);
+        if (rows > maxRowCount.get()) {
+          maxRowCount.accumulateAndGet(rows, Math::max);
+        }
+      }
+    }
+
+    private JSONObject toJson() {
+      var count = totalTimes.getCount();
+      var totalTimeJson =
+          new JSONObject()
+              .put("mean", toMillis(totalTimes.getMean().toNanos()))
+              .put("max", toMillis(totalTimes.getMax().toNanos()));
+      for (int i = 0; i < PERCENTILES.length; i++) {
+        totalTimeJson.put(
+            PERCENTILE_NAMES[i],
+            toMillis(totalTimes.getValueAtPercentile(PERCENTILES[i]).toNanos()));
+      }
+      return new JSONObject()
+          .put("count", count)
+          .put("errors", errorCount.sum())
+          .put("slow", slowCount.sum())
+          .put("totalMs", totalTimeJson)
+          .put(
+              "executeMs",
+              new JSONObject()
+                  .put("mean", toMillis(executionTimes.getMean().toNanos()))
+                  .put("max", toMillis(executionTimes.getMax().toNanos())))
+          .put(
+              "fetchMs",
+              new JSONObject().put("mean", count > 0 ? toMillis(fetchTime.sum() / count) : 0))
+          .put("rows", new JSONObject().put("total", rowCount.sum()).put("max", maxRowCount.get()));
+    }
+
+    private String getSummary() {
+      return String.format(
+          "count=%s, errors=%s, slow=%s, p50=%sms, p99=%sms, max=%sms, rows=%s",
+          totalTimes.getCount(),
+          errorCount.sum(),
+          slowCount.sum(),
+          toMillis(totalTimes.getValueAtPercentile(50).toNanos()),
+          toMillis(totalTimes.getValueAtPercentile(99).toNanos()),
+          toMillis(totalTimes.getMax().toNanos()),
+          rowCount.sum());
+    }
+  }
+}
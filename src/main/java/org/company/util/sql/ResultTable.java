@@ -0,0 +1,512 @@
+package org.company.util.sql;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.company.exception.AutomationException;
+
+/**
+ * Column-oriented query result sharing a single column schema across all rows. Rows and columns are
+ * zero based.
+ */
+public class ResultTable {
+
+  private static final int INITIAL_CAPACITY = 16;
+  private static final int MAX_DECIMAL_PRECISION_AS_LONG = 18;
+
+  private final String[] columnNames;
+  private final Map<String, Integer> columnIndexes;
+  private final String[] distinctColumnNames;
+  private final Column[] columns;
+  private int rowCount;
+
+  private ResultTable(String[] columnNames, Column[] columns) {
+    this.columnNames = columnNames;
+    this.columns = columns;
+    var indexes = new HashMap<String, Integer>();
+    var distinctNames = new LinkedHashMap<String, Boolean>();
+    for (int i = 0; i < columnNames.length; i++) {
+      indexes.put(columnNames[i], i);
+      distinctNames.put(columnNames[i], Boolean.TRUE);
+    }
+    this.columnIndexes = Collections.unmodifiableMap(indexes);
+    this.distinctColumnNames = distinctNames.keySet().toArray(String[]::new);
+  }
+
+  static ResultTable read(ResultSet resultSet) throws SQLException {
+    var resultSetMetadata = resultSet.getMetaData();
+    var columnCount = resultSetMetadata.getColumnCount();
+    var columnNames = new String[columnCount];
+    var columns = new Column[columnCount];
+    for (int i = 0; i < columnCount; i++) {
+      columnNames[i] = resultSetMetadata.getColumnName(i + 1);
+      columns[i] = newColumn(resultSetMetadata, i + 1);
+    }
+    var resultTable = new ResultTable(columnNames, columns);
+    while (resultSet.next()) {
+      for (int i = 0; i < columnCount; i++) {
+        columns[i].read(resultSet, i + 1, resultTable.rowCount);
+      }
+      resultTable.rowCount++;
+    }
+    return resultTable;
+  }
+
+  private static Column newColumn(ResultSetMetaData resultSetMetadata, int column)
+      throws SQLException {
+    return switch (resultSetMetadata.getColumnType(column)) {
+      case Types.TINYINT, Types.SMALLINT, Types.INTEGER -> new IntColumn();
+      case Types.BIGINT -> new LongColumn();
+      case Types.FLOAT, Types.DOUBLE -> new DoubleColumn();
+      case Types.DECIMAL, Types.NUMERIC -> resultSetMetadata.getPrecision(column)
+              <= MAX_DECIMAL_PRECISION_AS_LONG
+          ? new DecimalColumn(resultSetMetadata.getScale(column))
+          : new TextColumn();
+      case Types.DATE -> new DateColumn();
+      default -> new TextColumn();
+    };
+  }
+
+  public int rowCount() {
+    return rowCount;
+  }
+
+  public int columnCount() {
+    return columns.length;
+  }
+
+  public List<String> getColumnNames() {
+    return List.of(columnNames);
+  }
+
+  public int getColumnIndex(String columnName) {
+    var columnIndex = columnIndexes.get(columnName);
+    if (columnIndex == null) {
+      throw new AutomationException(
+          String.format("Column %s is not present in result", columnName));
+    }
+    return columnIndex;
+  }
+
+  public boolean hasColumn(String columnName) {
+    return columnIndexes.containsKey(columnName);
+  }
+
+  public boolean isNull(int row, int column) {
+    return getColumn(row, column).isNull(row);
+  }
+
+  public boolean isNull(int row, String columnName) {
+    return isNull(row, getColumnIndex(columnName));
+  }
+
+  public int getInt(int row, int column) {
+    return getColumn(row, column).getInt(row);
+  }
+
+  public int getInt(int row, String columnName) {
+    return getInt(row, getColumnIndex(columnName));
+  }
+
+  public long getLong(int row, int column) {
+    return getColumn(row, column).getLong(row);
+  }
+
+  public long getLong(int row, String columnName) {
+    return getLong(row, getColumnIndex(columnName));
+  }
+
+  public double getDouble(int row, int column) {
+    return getColumn(row, column).getDouble(row);
+  }
+
+  public double getDouble(int row, String columnName) {
+    return getDouble(row, getColumnIndex(columnName));
+  }
+
+  public BigDecimal getBigDecimal(int row, int column) {
+    return getColumn(row, column).getBigDecimal(row);
+  }
+
+  public BigDecimal getBigDecimal(int row, String columnName) {
+    return getBigDecimal(row, getColumnIndex(columnName));
+  }
+
+  public LocalDate getLocalDate(int row, int column) {
+    return getColumn(row, column).getLocalDate(row);
+  }
+
+  public LocalDate getLocalDate(int row, String columnName) {
+    return getLocalDate(row, getColumnIndex(columnName));
+  }
+
+  public String getString(int row, int column) {
+    return getColumn(row, column).getString(row);
+  }
+
+  public String getString(int row, String columnName) {
+    return getString(row, getColumnIndex(columnName));
+  }
+
+  public Map<String, String> getRow(int row) {
+    checkRow(row);
+    return new RowView(row);
+  }
+
+  public List<Map<String, String>> asMaps() {
+    return new AbstractList<>() {
+      @Override
+      public Map<String, String> get(int row) {
+        return getRow(row);
+      }
+
+      @Override
+      public int size() {
+        return rowCount;
+      }
+    };
+  }
+
+  private Column getColumn(int row, int column) {
+    checkRow(row);
+    if (column < 0 || column >= columns.length) {
+      throw new AutomationException(
+          String.format(
+              "Column index %s is out of range, result has %s columns", column, columns.length));
+    }
+    return columns[column];
+  }
+
+  private void checkRow(int row) {
+    if (row < 0 || row >= rowCount) {
+      throw new IndexOutOfBoundsException(
+          String.format("Row index %s is out of range, result has %s rows", row, rowCount));
+    }
+  }
+
+  private class RowView extends AbstractMap<String, String> {
+
+    private final int row;
+
+    private RowView(int row) {
+      this.row = row;
+    }
+
+    @Override
+    public String get(Object key) {
+      var columnIndex = columnIndexes.get(key);
+      return columnIndex != null ? columns[columnIndex].getString(row) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return columnIndexes.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+      return distinctColumnNames.length;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+      return new AbstractSet<>() {
+        @Override
+        public Iterator<Entry<String, String>> iterator() {
+          return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+              return next < distinctColumnNames.length;
+            }
+
+            @Override
+            public Entry<String, String> next() {
+              if (!hasNext()) {
+                throw new NoSuchElementException();
+              }
+              var columnName = distinctColumnNames[next++];
+              return new SimpleImmutableEntry<>(columnName, get(columnName));
+            }
+          };
+        }
+
+        @Override
+        public int size() {
+          return distinctColumnNames.length;
+        }
+      };
+    }
+  }
+
+  private abstract static class Column {
+
+    abstract void read(ResultSet resultSet, int column, int row) throws SQLException;
+
+    abstract boolean isNull(int row);
+
+    abstract String getString(int row);
+
+    int getInt(int row) {
+      throw unsupported("int");
+    }
+
+    long getLong(int row) {
+      throw unsupported("long");
+    }
+
+    double getDouble(int row) {
+      throw unsupported("double");
+    }
+
+    BigDecimal getBigDecimal(int row) {
+      var value = getString(row);
+      return value != null ? new BigDecimal(value) : null;
+    }
+
+    LocalDate getLocalDate(int row) {
+      var value = getString(row);
+      return value != null ? LocalDate.parse(value) : null;
+    }
+
+    static int grow(int capacity) {
+      return Math.max(INITIAL_CAPACITY, capacity << 1);
+    }
+
+    private AutomationException unsupported(String type) {
+      return new AutomationException(
+          String.format("%s column can't be read as %s", getClass().getSimpleName(), type));
+    }
+  }
+
+  private abstract static class PrimitiveColumn extends Column {
+
+    private final BitSet nulls = new BitSet();
+
+    void setNull(int row, boolean isNull) {
+      if (isNull) {
+        nulls.set(row);
+      }
+    }
+
+    @Override
+    boolean isNull(int row) {
+      return nulls.get(row);
+    }
+
+    void checkNotNull(int row) {
+      if (nulls.get(row)) {
+        throw new AutomationException(String.format("Value in row %s is null", row));
+      }
+    }
+  }
+
+  private static class IntColumn extends PrimitiveColumn {
+
+    private int[] values = new int[0];
+
+    @Override
+    void read(ResultSet resultSet, int column, int row) throws SQLException {
+      if (row == values.length) {
+        values = Arrays.copyOf(values, grow(values.length));
+      }
+      values[row] = resultSet.getInt(column);
+      setNull(row, resultSet.wasNull());
+    }
+
+    @Override
+    int getInt(int row) {
+      checkNotNull(row);
+      return values[row];
+    }
+
+    @Override
+    long getLong(int row) {
+      return getInt(row);
+    }
+
+    @Override
+    double getDouble(int row) {
+      return getInt(row);
+    }
+
+    @Override
+    String getString(int row) {
+      return isNull(row) ? null : Integer.toString(values[row]);
+    }
+  }
+
+  private static class LongColumn extends PrimitiveColumn {
+
+    private long[] values = new long[0];
+
+    @Override
+    void read(ResultSet resultSet, int column, int row) throws SQLException {
+      if (row == values.length) {
+        values = Arrays.copyOf(values, grow(values.length));
+      }
+      values[row] = resultSet.getLong(column);
+      setNull(row, resultSet.wasNull());
+    }
+
+    @Override
+    int getInt(int row) {
+      return Math.toIntExact(getLong(row));
+    }
+
+    @Override
+    long getLong(int row) {
+      checkNotNull(row);
+      return values[row];
+    }
+
+    @Override
+    double getDouble(int row) {
+      return getLong(row);
+    }
+
+    @Override
+    String getString(int row) {
+      return isNull(row) ? null : Long.toString(values[row]);
+    }
+  }
+
+  private static class DoubleColumn extends PrimitiveColumn {
+
+    private double[] values = new double[0];
+
+    @Override
+    void read(ResultSet resultSet, int column, int row) throws SQLException {
+      if (row == values.length) {
+        values = Arrays.copyOf(values, grow(values.length));
+      }
+      values[row] = resultSet.getDouble(column);
+      setNull(row, resultSet.wasNull());
+    }
+
+    @Override
+    double getDouble(int row) {
+      checkNotNull(row);
+      return values[row];
+    }
+
+    @Override
+    String getString(int row) {
+      return isNull(row) ? null : Double.toString(values[row]);
+    }
+  }
+
+  private static class DecimalColumn extends PrimitiveColumn {
+
+    private final int scale;
+    private long[] unscaledValues = new long[0];
+
+    private DecimalColumn(int scale) {
+      this.scale = scale;
+    }
+
+    @Override
+    void read(ResultSet resultSet, int column, int row) throws SQLException {
+      if (row == unscaledValues.length) {
+        unscaledValues = Arrays.copyOf(unscaledValues, grow(unscaledValues.length));
+      }
+      var value = resultSet.getBigDecimal(column);
+      setNull(row, value == null);
+      if (value != null) {
+        unscaledValues[row] = value.setScale(scale).unscaledValue().longValueExact();
+      }
+    }
+
+    @Override
+    int getInt(int row) {
+      return Math.toIntExact(getLong(row));
+    }
+
+    @Override
+    long getLong(int row) {
+      checkNotNull(row);
+      return scale == 0 ? unscaledValues[row] : getBigDecimal(row).longValueExact();
+    }
+
+    @Override
+    double getDouble(int row) {
+      checkNotNull(row);
+      return getBigDecimal(row).doubleValue();
+    }
+
+    @Override
+    BigDecimal getBigDecimal(int row) {
+      return isNull(row) ? null : BigDecimal.valueOf(unscaledValues[row], scale);
+    }
+
+    @Override
+    String getString(int row) {
+      return isNull(row) ? null : getBigDecimal(row).toPlainString();
+    }
+  }
+
+  private static class DateColumn extends PrimitiveColumn {
+
+    private long[] epochDays = new long[0];
+
+    @Override
+    void read(ResultSet resultSet, int column, int row) throws SQLException {
+      if (row == epochDays.length) {
+        epochDays = Arrays.copyOf(epochDays, grow(epochDays.length));
+      }
+      var value = resultSet.getDate(column);
+      setNull(row, value == null);
+      if (value != null) {
+        epochDays[row] = value.toLocalDate().toEpochDay();
+      }
+    }
+
+    @Override
+    LocalDate getLocalDate(int row) {
+      return isNull(row) ? null : LocalDate.ofEpochDay(epochDays[row]);
+    }
+
+    @Override
+    String getString(int row) {
+      return isNull(row) ? null : getLocalDate(row).toString();
+    }
+  }
+
+  private static class TextColumn extends Column {
+
+    private final List<String> values = new ArrayList<>();
+
+    @Override
+    void read(ResultSet resultSet, int column, int row) throws SQLException {
+      values.add(resultSet.getString(column));
+    }
+
+    @Override
+    boolean isNull(int row) {
+      return values.get(row) == null;
+    }
+
+    @Override
+    String getString(int row) {
+      return values.get(row);
+    }
+  }
+}
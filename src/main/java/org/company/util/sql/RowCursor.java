@@ -0,0 +1,135 @@
+package org.company.util.sql;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.company.util.LogUtils;
+
+class RowCursor<T> implements Iterator<T>, AutoCloseable {
+
+  private final String sqlQuery;
+  private final ResultSet resultSet;
+  private final QueryMetrics.QueryExecution queryExecution;
+  private final RowReader<T> rowReader;
+  private final Runnable onClose;
+  private long rowCount;
+  private long fetchTime;
+  private boolean hasNextRow;
+  private boolean advanced;
+  private boolean closed;
+
+  RowCursor(
+      String sqlQuery,
+      ResultSet resultSet,
+      QueryMetrics.QueryExecution queryExecution,
+      RowReader<T> rowReader,
+      Runnable onClose) {
+    this.sqlQuery = sqlQuery;
+    this.resultSet = resultSet;
+    this.queryExecution = queryExecution;
+    this.rowReader = rowReader;
+    this.onClose = onClose;
+  }
+
+  @FunctionalInterface
+  interface RowReader<T> {
+    T read(ResultSet resultSet) throws SQLException;
+  }
+
+  @FunctionalInterface
+  interface RowReaderFactory<T> {
+    RowReader<T> create(ResultSetMetaData resultSetMetadata) throws SQLException;
+  }
+
+  static RowReader<Map<String, String>> mapReader(ResultSetMetaData resultSetMetadata)
+      throws SQLException {
+    var columnNames = new String[resultSetMetadata.getColumnCount()];
+    for (int i = 0; i < columnNames.length; i++) {
+      columnNames[i] = resultSetMetadata.getColumnName(i + 1);
+    }
+    return resultSet -> {
+      var columnNameAndValue = new LinkedHashMap<String, String>();
+      for (int i = 0; i < columnNames.length; i++) {
+        columnNameAndValue.put(columnNames[i], resultSet.getString(i + 1));
+      }
+      return columnNameAndValue;
+    };
+  }
+
+  Stream<T> stream() {
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL),
+            false)
+        .onClose(this::close);
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (closed) {
+      return false;
+    }
+    if (!advanced) {
+      var startTime = System.nanoTime();
+      try {
+        hasNextRow = resultSet.next();
+        advanced = true;
+      } catch (SQLException e) {
+        queryExecution.failed();
+        close();
+        LogUtils.error(String.format("Unable to fetch next row for sql query: %s", sqlQuery), e);
+      }
+      fetchTime += System.nanoTime() - startTime;
+      if (hasNextRow) {
+        rowCount++;
+      } else {
+        close();
+      }
+    }
+    return hasNextRow;
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    advanced = false;
+    T row = null;
+    var startTime = System.nanoTime();
+    try {
+      row = rowReader.read(resultSet);
+      fetchTime += System.nanoTime() - startTime;
+    } catch (SQLException e) {
+      queryExecution.failed();
+      close();
+      LogUtils.error(String.format("Unable to read row for sql query: %s", sqlQuery), e);
+    }
+    return row;
+  }
+
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    hasNextRow = false;
+    try {
+      resultSet.close();
+    } catch (SQLException e) {
+      LogUtils.warn("Unable to close result set for sql query: {}", sqlQuery);
+    } finally {
+      CursorTracker.untrack(resultSet);
+      queryExecution.fetched(rowCount, fetchTime);
+      onClose.run();
+    }
+  }
+}
@@ -0,0 +1,258 @@
+package org.company.util.sql;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.StringUtils;
+import org.company.exception.AutomationException;
+
+/**
+ * Maps result set rows to records or POJOs. The mapper for a target type and result shape is built
+ * once from method handles bound to the resolved column indexes, so mapping a row only calls the
+ * typed {@link ResultSet} getters and the constructor or setters.
+ */
+final class RowMapper<T> {
+
+  private static final Map<MapperKey, RowMapper<?>> MAPPERS = new ConcurrentHashMap<>();
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+  private static final Map<Class<?>, String> PRIMITIVE_GETTERS =
+      Map.of(
+          int.class, "getInt",
+          long.class, "getLong",
+          double.class, "getDouble",
+          float.class, "getFloat",
+          short.class, "getShort",
+          byte.class, "getByte",
+          boolean.class, "getBoolean");
+  private static final MethodHandle GET_OBJECT;
+  private static final MethodHandle ENUM_VALUE_OF;
+
+  static {
+    try {
+      GET_OBJECT =
+          LOOKUP.findVirtual(
+              ResultSet.class,
+              "getObject",
+              MethodType.methodType(Object.class, int.class, Class.class));
+      ENUM_VALUE_OF =
+          LOOKUP.findStatic(
+              Enum.class, "valueOf", MethodType.methodType(Enum.class, Class.class, String.class));
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private final Class<T> type;
+  private final MethodHandle constructor;
+  private final MethodHandle[] setters;
+
+  private record MapperKey(Class<?> type, List<String> columnShape) {}
+
+  private RowMapper(Class<T> type, MethodHandle constructor, MethodHandle[] setters) {
+    this.type = type;
+    this.constructor = constructor;
+    this.setters = setters;
+  }
+
+  static <T> RowMapper<T> of(Class<T> type, ResultSetMetaData resultSetMetadata)
+      throws SQLException {
+    var columnShape = new ArrayList<String>(resultSetMetadata.getColumnCount());
+    for (int i = 1; i <= resultSetMetadata.getColumnCount(); i++) {
+      columnShape.add(
+          resultSetMetadata.getColumnLabel(i) + ":" + resultSetMetadata.getColumnType(i));
+    }
+    var mapperKey = new MapperKey(type, List.copyOf(columnShape));
+    var rowMapper = MAPPERS.get(mapperKey);
+    if (rowMapper == null) {
+      rowMapper = MAPPERS.computeIfAbsent(mapperKey, key -> create(type, getColumnIndexes(key)));
+    }
+    // mappers are keyed by their type, so the cached mapper maps to T
+    @SuppressWarnings("unchecked")
+    var typedRowMapper = (RowMapper<T>) rowMapper;
+    return typedRowMapper;
+  }
+
+  T map(ResultSet resultSet) throws SQLException {
+    try {
+      var row = constructor.invokeExact(resultSet);
+      for (var setter : setters) {
+        setter.invokeExact(row, resultSet);
+      }
+      return type.cast(row);
+    } catch (SQLException | RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new AutomationException("Unable to map row", e);
+    }
+  }
+
+  private static Map<String, Integer> getColumnIndexes(MapperKey mapperKey) {
+    var columnIndexes = new HashMap<String, Integer>();
+    var columnShape = mapperKey.columnShape();
+    for (int i = 0; i < columnShape.size(); i++) {
+      columnIndexes.putIfAbsent(
+          normalize(StringUtils.substringBeforeLast(columnShape.get(i), ":")), i + 1);
+    }
+    return columnIndexes;
+  }
+
+  private static <T> RowMapper<T> create(Class<T> type, Map<String, Integer> columnIndexes) {
+    try {
+      var lookup = MethodHandles.privateLookupIn(type, LOOKUP);
+      return type.isRecord()
+          ? createRecordMapper(lookup, type, columnIndexes)
+          : createBeanMapper(lookup, type, columnIndexes);
+    } catch (ReflectiveOperationException e) {
+      throw new AutomationException(
+          String.format("Unable to create row mapper for %s", type.getName()), e);
+    }
+  }
+
+  private static <T> RowMapper<T> createRecordMapper(
+      MethodHandles.Lookup lookup, Class<T> type, Map<String, Integer> columnIndexes)
+      throws ReflectiveOperationException {
+    var recordComponents = type.getRecordComponents();
+    var componentTypes = new Class<?>[recordComponents.length];
+    var columnGetters = new MethodHandle[recordComponents.length];
+    for (int i = 0; i < recordComponents.length; i++) {
+      componentTypes[i] = recordComponents[i].getType();
+      var columnIndex = columnIndexes.get(normalize(recordComponents[i].getName()));
+      if (columnIndex == null) {
+        throw new AutomationException(
+            String.format(
+                "No column found for component %s of record %s",
+                recordComponents[i].getName(), type.getName()));
+      }
+      columnGetters[i] = getColumnGetter(componentTypes[i], columnIndex);
+    }
+    var constructor =
+        lookup.findConstructor(type, MethodType.methodType(void.class, componentTypes));
+    constructor = MethodHandles.filterArguments(constructor, 0, columnGetters);
+    constructor =
+        MethodHandles.permuteArguments(
+            constructor,
+            MethodType.methodType(type, ResultSet.class),
+            new int[recordComponents.length]);
+    return new RowMapper<>(
+        type,
+        constructor.asType(MethodType.methodType(Object.class, ResultSet.class)),
+        new MethodHandle[0]);
+  }
+
+  private static <T> RowMapper<T> createBeanMapper(
+      MethodHandles.Lookup lookup, Class<T> type, Map<String, Integer> columnIndexes)
+      throws ReflectiveOperationException {
+    var constructor = lookup.findConstructor(type, MethodType.methodType(void.class));
+    constructor = MethodHandles.dropArguments(constructor, 0, ResultSet.class);
+    var setters = new ArrayList<MethodHandle>();
+    var mappedProperties = new HashMap<String, Boolean>();
+    for (var method : type.getMethods()) {
+      var property = getSetterProperty(method);
+      var columnIndex = property != null ? columnIndexes.get(property) : null;
+      if (columnIndex != null && mappedProperties.putIfAbsent(property, true) == null) {
+        setters.add(
+            bindSetter(lookup.unreflect(method), method.getParameterTypes()[0], columnIndex));
+      }
+    }
+    for (Class<?> declaringType = type;
+        declaringType != null && declaringType != Object.class;
+        declaringType = declaringType.getSuperclass()) {
+      for (var field : declaringType.getDeclaredFields()) {
+        var property = normalize(field.getName());
+        var columnIndex = columnIndexes.get(property);
+        if (columnIndex != null
+            && isWritable(field)
+            && mappedProperties.putIfAbsent(property, true) == null) {
+          var fieldLookup = MethodHandles.privateLookupIn(declaringType, LOOKUP);
+          setters.add(bindSetter(fieldLookup.unreflectSetter(field), field.getType(), columnIndex));
+        }
+      }
+    }
+    return new RowMapper<>(
+        type,
+        constructor.asType(MethodType.methodType(Object.class, ResultSet.class)),
+        setters.toArray(MethodHandle[]::new));
+  }
+
+  private static MethodHandle bindSetter(MethodHandle setter, Class<?> valueType, int columnIndex)
+      throws ReflectiveOperationException {
+    var boundSetter =
+        MethodHandles.filterArguments(setter, 1, getColumnGetter(valueType, columnIndex));
+    return MethodHandles.dropReturn(boundSetter)
+        .asType(MethodType.methodType(void.class, Object.class, ResultSet.class));
+  }
+
+  private static MethodHandle getColumnGetter(Class<?> valueType, int columnIndex)
+      throws ReflectiveOperationException {
+    MethodHandle columnGetter;
+    var primitiveGetter = PRIMITIVE_GETTERS.get(valueType);
+    if (primitiveGetter != null) {
+      columnGetter =
+          LOOKUP.findVirtual(
+              ResultSet.class, primitiveGetter, MethodType.methodType(valueType, int.class));
+    } else if (valueType == String.class) {
+      columnGetter =
+          LOOKUP.findVirtual(
+              ResultSet.class, "getString", MethodType.methodType(String.class, int.class));
+    } else if (valueType == BigDecimal.class) {
+      columnGetter =
+          LOOKUP.findVirtual(
+              ResultSet.class, "getBigDecimal", MethodType.methodType(BigDecimal.class, int.class));
+    } else if (valueType.isEnum()) {
+      var getString =
+          LOOKUP.findVirtual(
+              ResultSet.class, "getString", MethodType.methodType(String.class, int.class));
+      var valueOf = MethodHandles.insertArguments(ENUM_VALUE_OF, 0, valueType);
+      columnGetter =
+          MethodHandles.filterReturnValue(
+              getString,
+              MethodHandles.guardWithTest(
+                  isNull(),
+                  MethodHandles.dropArguments(
+                      MethodHandles.constant(Enum.class, null), 0, String.class),
+                  valueOf));
+    } else {
+      columnGetter = MethodHandles.insertArguments(GET_OBJECT, 2, valueType);
+    }
+    columnGetter = MethodHandles.insertArguments(columnGetter, 1, columnIndex);
+    return columnGetter.asType(MethodType.methodType(valueType, ResultSet.class));
+  }
+
+  private static MethodHandle isNull() throws ReflectiveOperationException {
+    return LOOKUP
+        .findStatic(Objects.class, "isNull", MethodType.methodType(boolean.class, Object.class))
+        .asType(MethodType.methodType(boolean.class, String.class));
+  }
+
+  private static String getSetterProperty(Method method) {
+    if (Modifier.isStatic(method.getModifiers())
+        || method.getParameterCount() != 1
+        || method.getName().length() <= 3
+        || !method.getName().startsWith("set")) {
+      return null;
+    }
+    return normalize(method.getName().substring(3));
+  }
+
+  private static boolean isWritable(Field field) {
+    var modifiers = field.getModifiers();
+    return !Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers);
+  }
+
+  private static String normalize(String name) {
+    return StringUtils.remove(name, '_').toLowerCase();
+  }
+}
@@ -0,0 +1,186 @@
+package org.company.cucumber;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.assertj.core.api.Assertions;
+import org.testng.annotations.Test;
+
+public class ScenarioSchedulerTest {
+
+  private static final Path HISTORY_FILE = Path.of("target", "scenario-scheduler-test.properties");
+
+  private record Scenario(String key, List<String> tags) {}
+
+  @Test
+  void testShouldScheduleUnknownScenariosFirstAndThenLongestFirst() {
+    var scheduler =
+        new ScenarioScheduler(
+            2,
+            0,
+            1,
+            HISTORY_FILE,
+            Map.of(),
+            Map.of(),
+            Map.of("a:1", 100L, "b:1", 300L, "c:1", 200L));
+    var scenarios = List.of(scenario("a:1"), scenario("b:1"), scenario("c:1"), scenario("d:1"));
+    Assertions.assertThat(getKeys(schedule(scheduler, scenarios)))
+        .containsExactly("d:1", "b:1", "c:1", "a:1");
+  }
+
+  @Test
+  void testShouldDeferTagLimitedScenariosBehindUnlimitedOnes() {
+    var history = Map.of("x:1", 500L, "y:1", 400L, "z:1", 300L, "w:1", 100L);
+    var scheduler =
+        new ScenarioScheduler(2, 0, 1, HISTORY_FILE, Map.of("@DatabaseTest", 1), Map.of(), history);
+    var scenarios =
+        List.of(
+            scenario("x:1", "@DatabaseTest"),
+            scenario("y:1", "@DatabaseTest"),
+            scenario("z:1"),
+            scenario("w:1"));
+    Assertions.assertThat(getKeys(schedule(scheduler, scenarios)))
+        .containsExactly("x:1", "z:1", "w:1", "y:1");
+  }
+
+  @Test
+  void testShouldKeepLongestFirstOrderWhenTagLimitIsNotReached() {
+    var history = Map.of("x:1", 500L, "y:1", 400L, "z:1", 300L);
+    var scheduler =
+        new ScenarioScheduler(3, 0, 1, HISTORY_FILE, Map.of("@DatabaseTest", 2), Map.of(), history);
+    var scenarios =
+        List.of(
+            scenario("z:1"), scenario("y:1", "@DatabaseTest"), scenario("x:1", "@DatabaseTest"));
+    Assertions.assertThat(getKeys(schedule(scheduler, scenarios)))
+        .containsExactly("x:1", "y:1", "z:1");
+  }
+
+  @Test
+  void testShouldDeferExclusiveScenariosUntilAllExcludedPermitsAreFree() {
+    var history = Map.of("d1:1", 500L, "d2:1", 400L, "s:1", 300L, "u:1", 100L);
+    var scheduler =
+        new ScenarioScheduler(
+            3,
+            0,
+            1,
+            HISTORY_FILE,
+            Map.of("@DatabaseTest", 2),
+            Map.of("@DatabaseSnapshot", Set.of("@DatabaseTest")),
+            history);
+    var scenarios =
+        List.of(
+            scenario("s:1", "@DatabaseTest", "@DatabaseSnapshot"),
+            scenario("d1:1", "@DatabaseTest"),
+            scenario("d2:1", "@DatabaseTest"),
+            scenario("u:1"));
+    Assertions.assertThat(getKeys(schedule(scheduler, scenarios)))
+        .containsExactly("d1:1", "d2:1", "u:1", "s:1");
+  }
+
+  @Test
+  void testShouldNotRunExclusiveScenarioAlongsideExcludedScenarios() throws Exception {
+    var scheduler =
+        new ScenarioScheduler(
+            2,
+            0,
+            1,
+            HISTORY_FILE,
+            Map.of("@DatabaseTest", 2),
+            Map.of("@DatabaseSnapshot", Set.of("@DatabaseTest")),
+            Map.of());
+    var databaseScenarioStarted = new CountDownLatch(1);
+    var databaseScenarioReleased = new CountDownLatch(1);
+    var snapshotScenarioStarted = new CountDownLatch(1);
+    var executor = Executors.newFixedThreadPool(2);
+    try {
+      executor.submit(
+          () ->
+              scheduler.run(
+                  "d:1",
+                  List.of("@DatabaseTest"),
+                  () -> {
+                    databaseScenarioStarted.countDown();
+                    await(databaseScenarioReleased);
+                  }));
+      Assertions.assertThat(databaseScenarioStarted.await(5, TimeUnit.SECONDS)).isTrue();
+      executor.submit(
+          () ->
+              scheduler.run(
+                  "s:1", List.of("@DatabaseSnapshot"), snapshotScenarioStarted::countDown));
+      Assertions.assertThat(snapshotScenarioStarted.await(200, TimeUnit.MILLISECONDS)).isFalse();
+      databaseScenarioReleased.countDown();
+      Assertions.assertThat(snapshotScenarioStarted.await(5, TimeUnit.SECONDS)).isTrue();
+    } finally {
+      databaseScenarioReleased.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testShouldSplitScenariosAcrossShardsExactlyOnce() {
+    var history = Map.of("a:1", 900L, "b:1", 700L, "c:1", 500L, "d:1", 300L, "e:1", 100L);
+    var scenarios = new ArrayList<Scenario>();
+    for (var scenarioKey : List.of("a:1", "b:1", "c:1", "d:1", "e:1", "f:1", "g:1", "h:1")) {
+      scenarios.add(scenario(scenarioKey, "@DatabaseTest"));
+    }
+    var shardCount = 3;
+    var scheduledKeys = new ArrayList<String>();
+    for (int shardIndex = 0; shardIndex < shardCount; shardIndex++) {
+      var scheduler =
+          new ScenarioScheduler(
+              2,
+              shardIndex,
+              shardCount,
+              HISTORY_FILE,
+              Map.of("@DatabaseTest", 1),
+              Map.of(),
+              history);
+      var shardKeys = getKeys(schedule(scheduler, scenarios));
+      var reversedScenarios = new ArrayList<>(scenarios);
+      Collections.reverse(reversedScenarios);
+      Assertions.assertThat(getKeys(schedule(scheduler, reversedScenarios)))
+          .containsExactlyElementsOf(shardKeys);
+      scheduledKeys.addAll(shardKeys);
+    }
+    Assertions.assertThat(scheduledKeys)
+        .doesNotHaveDuplicates()
+        .containsExactlyInAnyOrderElementsOf(getKeys(scenarios));
+  }
+
+  @Test
+  void testShouldBalanceKnownDurationsAcrossShards() {
+    var history = Map.of("a:1", 900L, "b:1", 600L, "c:1", 500L, "d:1", 400L);
+    var scenarios = List.of(scenario("a:1"), scenario("b:1"), scenario("c:1"), scenario("d:1"));
+    var firstShard = new ScenarioScheduler(1, 0, 2, HISTORY_FILE, Map.of(), Map.of(), history);
+    var secondShard = new ScenarioScheduler(1, 1, 2, HISTORY_FILE, Map.of(), Map.of(), history);
+    Assertions.assertThat(getKeys(schedule(firstShard, scenarios))).containsExactly("a:1", "d:1");
+    Assertions.assertThat(getKeys(schedule(secondShard, scenarios))).containsExactly("b:1", "c:1");
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static Scenario scenario(String key, String... tags) {
+    return new Scenario(key, List.of(tags));
+  }
+
+  private static List<Scenario> schedule(ScenarioScheduler scheduler, List<Scenario> scenarios) {
+    return scheduler.schedule(scenarios, Scenario::key, Scenario::tags);
+  }
+
+  private static List<String> getKeys(Collection<Scenario> scenarios) {
+    return scenarios.stream().map(Scenario::key).toList();
+  }
+}
@@ -15,6 +15,7 @@ public class DatabaseTest {
   @BeforeClass
   void setup() {
     DatabaseUtils.getDatabaseConnection();
+    DatabaseUtils.releaseDatabaseConnection();
   }
 
   @AfterClass
@@ -59,6 +60,39 @@ public class DatabaseTest {
     Assertions.assertThat(managerId).allMatch(mgrId -> "100".equals(mgrId));
   }
 
+  @Test
+  void testShouldExecuteParameterizedQueryAndGetAllRowsForGivenColumnNames() {
+    var query =
+        "SELECT E.employee_id, E.first_name, E.last_name, E.email, "
+            + "M.employee_id AS 'manager_id', M.first_name AS 'manager_first_name', M.last_name AS 'manager_last_name', M.email AS 'manager_email' "
+            + "FROM hrd.employees E LEFT OUTER JOIN hrd.employees M ON E.manager_id = M.employee_id where E.manager_id = ?";
+    var actual =
+        DatabaseUtils.executeQueryAndGetAllRowsForColumnNames(
+            query,
+            List.of(100),
+            List.of(
+                "employee_id",
+                "first_name",
+                "last_name",
+                "email",
+                "manager_id",
+                "manager_first_name",
+                "manager_last_name",
+                "manager_email"));
+    LogUtils.info("Result", actual);
+    var managerId = actual.stream().map(row -> row.get("manager_id")).toList();
+    Assertions.assertThat(managerId).allMatch(mgrId -> "100".equals(mgrId));
+  }
+
+  @Test
+  void testShouldExecuteQueryAndMapRowsToRecord() {
+    var query = "SELECT * FROM hrd.employees WHERE manager_id = ?";
+    var actual = DatabaseUtils.executeQueryAndMapRows(query, List.of(100), Employee.class);
+    LogUtils.info("Result", actual);
+    Assertions.assertThat(actual).isNotEmpty().allMatch(employee -> employee.managerId() == 100);
+    Assertions.assertThat(actual).extracting(Employee::firstName).contains("Neena", "Lex");
+  }
+
   @Test
   void testShouldExecuteQueryAndGetResultForColumnNumber() {
     var query = "SELECT COUNT(*) FROM hrd.countries WHERE region_id = 3";
@@ -67,6 +101,14 @@ public class DatabaseTest {
     Assertions.assertThat(actual).isEqualTo("6");
   }
 
+  @Test
+  void testShouldExecuteParameterizedQueryAndGetResultForColumnNumber() {
+    var query = "SELECT COUNT(*) FROM hrd.countries WHERE region_id = ?";
+    var actual = DatabaseUtils.executeQueryAndGetValueForColumnNumber(query, List.of(3), 1);
+    LogUtils.info("Result", actual);
+    Assertions.assertThat(actual).isEqualTo("6");
+  }
+
   @Test
   void testShouldExecuteQueryAndGetSingleResult() {
     var query = "SELECT * FROM hrd.jobs WHERE job_title = 'Programmer'";
@@ -75,4 +117,13 @@ public class DatabaseTest {
     Assertions.assertThat(actual.get("min_salary")).isEqualTo("4000.00");
     Assertions.assertThat(actual.get("max_salary")).isEqualTo("10000.00");
   }
+
+  @Test
+  void testShouldExecuteParameterizedQueryAndGetSingleResult() {
+    var query = "SELECT * FROM hrd.jobs WHERE job_title = ?";
+    var actual = DatabaseUtils.executeQueryAndGetSingleResult(query, List.of("Programmer"));
+    LogUtils.info("Result", actual);
+    Assertions.assertThat(actual.get("min_salary")).isEqualTo("4000.00");
+    Assertions.assertThat(actual.get("max_salary")).isEqualTo("10000.00");
+  }
 }
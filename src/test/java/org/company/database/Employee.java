@@ -0,0 +1,16 @@
+package org.company.database;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record Employee(
+    int employeeId,
+    String firstName,
+    String lastName,
+    String email,
+    String phoneNumber,
+    LocalDate hireDate,
+    int jobId,
+    BigDecimal salary,
+    Integer managerId,
+    Integer departmentId) {}
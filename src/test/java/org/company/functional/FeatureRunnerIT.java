@@ -1,10 +1,9 @@
 package org.company.functional;
 
-import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
+import org.company.cucumber.ScheduledTestNGCucumberTests;
 import org.company.util.sql.DatabaseUtils;
 import org.testng.annotations.AfterClass;
-import org.testng.annotations.DataProvider;
 
 @CucumberOptions(
     features = {"classpath:features/demo"},
@@ -13,18 +12,16 @@ import org.testng.annotations.DataProvider;
     plugin = {
       "pretty",
       "html:target/cucumber/cucumber-html-report.html",
-      "json:target/cucumber/cucumber.json"
-    } /*,tags = "@ApiTest"*/)
-public class FeatureRunnerIT extends AbstractTestNGCucumberTests {
-
-  @Override
-  @DataProvider(parallel = true)
-  public Object[][] scenarios() {
-    return super.scenarios();
-  }
+      "json:target/cucumber/cucumber.json",
+      "org.company.cucumber.MetricsPlugin"
+    },
+    // load tests hit the api for seconds, run them with -Dcucumber.filter.tags=@LoadTest
+    tags = "not @LoadTest" /*,tags = "@ApiTest"*/)
+public class FeatureRunnerIT extends ScheduledTestNGCucumberTests {
 
   @AfterClass
   public void disconnectDependentServices() {
+    DatabaseUtils.dropDatabaseSnapshot();
     DatabaseUtils.closeDatabaseConnection();
   }
 }
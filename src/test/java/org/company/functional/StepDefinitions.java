@@ -1,40 +1,101 @@
 package org.company.functional;
 
 import io.cucumber.datatable.DataTable;
+import io.cucumber.java.After;
 import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
 import io.restassured.response.Response;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
+import org.apache.commons.lang3.StringUtils;
 import org.assertj.core.api.Assertions;
+import org.company.restapi.LoadGenerator;
+import org.company.restapi.LoadTestResult;
+import org.company.restapi.RequestType;
+import org.company.restapi.RestRequest;
 import org.company.restapi.RestService;
-import org.company.util.sql.DatabaseUtils;
-import org.company.util.FileUtils;
+import org.company.util.ConfigRegistry;
+import org.company.util.ExpiringCache;
 import org.company.util.LogUtils;
+import org.company.util.ResourceStore;
 import org.company.util.RestApiUtils;
+import org.company.util.sql.DatabaseUtils;
 
 public class StepDefinitions {
 
+  private static final Duration PRECONDITION_CACHE_TTL =
+      ConfigRegistry.getDuration("precondition-cache-ttl-ms", Duration.ofMinutes(1));
+  private static final ExpiringCache<String, Boolean> DATABASE_PROBES =
+      new ExpiringCache<>(PRECONDITION_CACHE_TTL);
+  private static final ExpiringCache<String, Boolean> API_HOST_PROBES =
+      new ExpiringCache<>(PRECONDITION_CACHE_TTL);
+
+  private static final Pattern INTEGER_PARAMETER = Pattern.compile("-?\\d{1,18}");
+  private static final Pattern DECIMAL_PARAMETER = Pattern.compile("-?\\d+\\.\\d+");
+
   private ScenarioContext scenarioContext;
 
   @Before
-  public void initScenario() {
+  public void initScenario(Scenario scenario) {
+    RestService.startCassetteScenario(scenario.getUri() + ":" + scenario.getLine());
     LogUtils.debug("Initialization finished for scenario");
     scenarioContext = new ScenarioContext();
   }
 
+  // the snapshot already isolates the scenario and cannot be created inside a transaction
+  @Before("@DatabaseTest and not @DatabaseSnapshot")
+  public void beginFixtureTransaction() {
+    if (DatabaseUtils.isFixtureIsolationEnabled()) {
+      DatabaseUtils.beginFixtureTransaction();
+    }
+  }
+
+  @Before(value = "@DatabaseSnapshot", order = 100)
+  public void createDatabaseSnapshot() {
+    DatabaseUtils.createDatabaseSnapshot();
+  }
+
+  @After(value = "@DatabaseSnapshot", order = 20000)
+  public void restoreDatabaseSnapshot() {
+    DatabaseUtils.restoreDatabaseSnapshot();
+  }
+
+  @After
+  public void tearDownScenario() {
+    DatabaseUtils.releaseDatabaseConnection();
+    LogUtils.debug("Tear down finished for scenario");
+  }
+
   @Given("Connect to {string} database")
   public void connectToDatabase(String database) {
-    Assertions.assertThat(DatabaseUtils.getDatabaseConnection()).isNotNull();
+    DATABASE_PROBES.get(
+        database,
+        key -> {
+          Assertions.assertThat(DatabaseUtils.isDatabaseUpAndRunning()).isTrue();
+          return true;
+        });
     LogUtils.debug("{} database is up & running", database);
   }
 
   @Given("API host {string} is reachable")
   public void isApiReachable(String host) {
-    var response = RestService.callGetEndpoint(host);
-    RestApiUtils.validateResponseStatusCode(response, 200);
+    API_HOST_PROBES.get(
+        host,
+        key -> {
+          var response = RestService.callGetEndpoint(key);
+          RestApiUtils.validateResponseStatusCode(response, 200);
+          return true;
+        });
     LogUtils.debug("API host is reachable");
   }
 
@@ -54,17 +115,66 @@ public class StepDefinitions {
     RestApiUtils.validateResponseStatusCode(apiResponse, expectedResponseStatusCode);
   }
 
+  @When("GET API endpoint having url {string} is load tested at {int} rps for {int} seconds")
+  public void apiEndpointIsLoadTestedAtRate(String url, int requestsPerSecond, int seconds) {
+    LogUtils.debug("Load testing GET API endpoint {} at {} rps", url, requestsPerSecond);
+    var loadTestResult =
+        LoadGenerator.runAtRate(
+            RestRequest.of(RequestType.GET, url), requestsPerSecond, Duration.ofSeconds(seconds));
+    scenarioContext.setContext("load-test-result", loadTestResult);
+  }
+
+  @When(
+      "GET API endpoint having url {string} is load tested with {int} concurrent users for {int} seconds")
+  public void apiEndpointIsLoadTestedWithConcurrency(String url, int concurrency, int seconds) {
+    LogUtils.debug("Load testing GET API endpoint {} with {} users", url, concurrency);
+    var loadTestResult =
+        LoadGenerator.runWithConcurrency(
+            RestRequest.of(RequestType.GET, url), concurrency, Duration.ofSeconds(seconds));
+    scenarioContext.setContext("load-test-result", loadTestResult);
+  }
+
+  @Then("Validate if load test p{double} latency is under {int} ms")
+  public void validateIfLoadTestLatencyIsUnder(double percentile, int expectedLatencyInMillis) {
+    var loadTestResult = (LoadTestResult) scenarioContext.getContext("load-test-result");
+    LogUtils.debug(
+        "Validating load test p{} latency of {}", percentile, loadTestResult.getSummary());
+    Assertions.assertThat(loadTestResult.getLatency(percentile).toMillis())
+        .isLessThan(expectedLatencyInMillis);
+  }
+
+  @Then("Validate if load test error rate is under {double} percent")
+  public void validateIfLoadTestErrorRateIsUnder(double expectedErrorRate) {
+    var loadTestResult = (LoadTestResult) scenarioContext.getContext("load-test-result");
+    LogUtils.debug("Validating load test error rate of {}", loadTestResult.getSummary());
+    Assertions.assertThat(loadTestResult.getErrorRate()).isLessThan(expectedErrorRate);
+  }
+
   @When("SQL query {string} from file {string} at path {string} is executed")
   public void whenSqlQueryFromFileAtPathIsExecuted(
       String queryIdentifier, String fileName, String path) {
     LogUtils.debug("Executing sql query {} inside file {}/{}", queryIdentifier, fileName, path);
-    var json = FileUtils.readFileAsJsonObject(path, fileName);
-    var query = json.get(queryIdentifier).toString();
+    var query = ResourceStore.getString(path, fileName, queryIdentifier);
     LogUtils.debug("Query", query);
     var result = DatabaseUtils.executeQueryAndGetAllRows(query);
     scenarioContext.setContext("query-result", result);
   }
 
+  @When(
+      "SQL query {string} from file {string} at path {string} is executed with parameters {string}")
+  public void whenSqlQueryFromFileAtPathIsExecutedWithParameters(
+      String queryIdentifier, String fileName, String path, String parameters) {
+    LogUtils.debug("Executing sql query {} inside file {}/{}", queryIdentifier, fileName, path);
+    var query = ResourceStore.getString(path, fileName, queryIdentifier);
+    var queryParameters =
+        Arrays.stream(StringUtils.split(parameters, ','))
+            .map(StepDefinitions::toQueryParameter)
+            .toList();
+    LogUtils.debug("Query {} with parameters {}", query, queryParameters);
+    var result = DatabaseUtils.executeQueryAndGetAllRows(query, queryParameters);
+    scenarioContext.setContext("query-result", result);
+  }
+
   @Then("Validate if result contains {int} rows")
   public void thenValidateIfResultContainsExpectedNumOfRows(int expectedNumOfRows) {
     LogUtils.debug("Validating if sql query result contains {} number of rows", expectedNumOfRows);
@@ -83,4 +193,33 @@ public class StepDefinitions {
     var queryResult = (List<Map<String, String>>) scenarioContext.getContext("query-result");
     Assertions.assertThat(queryResult.get(rowNum).get(columnName)).isEqualTo(columnValue);
   }
+
+  // Binds step values with the sql type they spell, 'quoted' values stay strings
+  private static Object toQueryParameter(String parameter) {
+    var value = parameter.strip();
+    if (value.length() > 1 && value.startsWith("'") && value.endsWith("'")) {
+      return value.substring(1, value.length() - 1);
+    }
+    if ("null".equalsIgnoreCase(value)) {
+      return null;
+    }
+    if ("true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value)) {
+      return Boolean.parseBoolean(value);
+    }
+    if (INTEGER_PARAMETER.matcher(value).matches()) {
+      var number = Long.parseLong(value);
+      if (number >= Integer.MIN_VALUE && number <= Integer.MAX_VALUE) {
+        return (int) number;
+      }
+      return number;
+    }
+    if (DECIMAL_PARAMETER.matcher(value).matches()) {
+      return new BigDecimal(value);
+    }
+    try {
+      return value.contains("T") ? LocalDateTime.parse(value) : LocalDate.parse(value);
+    } catch (DateTimeParseException e) {
+      return value;
+    }
+  }
 }
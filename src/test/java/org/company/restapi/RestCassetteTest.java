@@ -0,0 +1,178 @@
+package org.company.restapi;
+
+import static io.restassured.RestAssured.given;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.assertj.core.api.Assertions;
+import org.company.exception.AutomationException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class RestCassetteTest {
+
+  private static final String MATCH_RULES = "method,url,query,body";
+
+  private final Map<String, AtomicInteger> callCounts = new ConcurrentHashMap<>();
+  private HttpServer httpServer;
+  private Path cassetteDir;
+
+  @BeforeClass
+  public void startServer() throws IOException {
+    httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    httpServer.createContext("/", this::respond);
+    httpServer.start();
+    cassetteDir = Files.createTempDirectory("cassettes");
+  }
+
+  @AfterClass(alwaysRun = true)
+  public void stopServer() {
+    httpServer.stop(0);
+  }
+
+  @Test
+  void testShouldReplayRepeatedRequestsInRecordedOrder() {
+    var cassetteFile = cassetteDir.resolve("ordered.jsonl");
+    RestCassette.startScenario("users.feature:3");
+    String firstBody;
+    String secondBody;
+    try (var cassette = record(cassetteFile, MATCH_RULES)) {
+      firstBody = call(cassette, "/ordered", given().queryParam("page", 1)).asString();
+      secondBody = call(cassette, "/ordered", given().queryParam("page", 1)).asString();
+    }
+    Assertions.assertThat(firstBody).isNotEqualTo(secondBody);
+    var replayCassette = replay(cassetteFile, MATCH_RULES, true);
+    RestCassette.startScenario("users.feature:3");
+    var callsBeforeReplay = getCallCount("/ordered").get();
+    Assertions.assertThat(
+            call(replayCassette, "/ordered", given().queryParam("page", 1)).asString())
+        .isEqualTo(firstBody);
+    var replayedResponse = call(replayCassette, "/ordered", given().queryParam("page", 1));
+    Assertions.assertThat(replayedResponse.asString()).isEqualTo(secondBody);
+    Assertions.assertThat(replayedResponse.getStatusCode()).isEqualTo(200);
+    Assertions.assertThat(replayedResponse.getHeader("X-Call")).isNotBlank();
+    Assertions.assertThat(
+            call(replayCassette, "/ordered", given().queryParam("page", 1)).asString())
+        .isEqualTo(secondBody);
+    Assertions.assertThat(getCallCount("/ordered")).hasValue(callsBeforeReplay);
+  }
+
+  @Test
+  void testShouldKeepReplayPositionsPerScenario() {
+    var cassetteFile = cassetteDir.resolve("scenarios.jsonl");
+    String firstBody;
+    String secondBody;
+    String otherScenarioBody;
+    try (var cassette = record(cassetteFile, MATCH_RULES)) {
+      RestCassette.startScenario("users.feature:3");
+      firstBody = call(cassette, "/scenarios", given()).asString();
+      RestCassette.startScenario("users.feature:9");
+      otherScenarioBody = call(cassette, "/scenarios", given()).asString();
+      RestCassette.startScenario("users.feature:3");
+      secondBody = call(cassette, "/scenarios", given()).asString();
+    }
+    var replayCassette = replay(cassetteFile, MATCH_RULES, true);
+    RestCassette.startScenario("users.feature:9");
+    Assertions.assertThat(call(replayCassette, "/scenarios", given()).asString())
+        .isEqualTo(otherScenarioBody);
+    RestCassette.startScenario("users.feature:3");
+    Assertions.assertThat(call(replayCassette, "/scenarios", given()).asString())
+        .isEqualTo(firstBody);
+    Assertions.assertThat(call(replayCassette, "/scenarios", given()).asString())
+        .isEqualTo(secondBody);
+    RestCassette.startScenario("users.feature:15");
+    Assertions.assertThat(call(replayCassette, "/scenarios", given()).asString())
+        .isEqualTo(firstBody);
+  }
+
+  @Test
+  void testShouldMatchAllValuesOfMultiValuedHeaders() {
+    var cassetteFile = cassetteDir.resolve("headers.jsonl");
+    var matchRules = "method,url,header:X-Tenant";
+    RestCassette.startScenario("tenants.feature:3");
+    String recordedBody;
+    try (var cassette = record(cassetteFile, matchRules)) {
+      recordedBody =
+          call(cassette, "/headers", given().header("X-Tenant", "north", "south")).asString();
+    }
+    var replayCassette = replay(cassetteFile, matchRules, true);
+    Assertions.assertThat(
+            call(replayCassette, "/headers", given().header("X-Tenant", "north", "south"))
+                .asString())
+        .isEqualTo(recordedBody);
+    Assertions.assertThatThrownBy(
+            () -> call(replayCassette, "/headers", given().header("X-Tenant", "north")))
+        .isInstanceOf(AutomationException.class)
+        .hasMessageContaining("No recorded response")
+        .hasMessageContaining("header:X-Tenant=north");
+  }
+
+  @Test
+  void testShouldCallApiOnMissOnlyWhenLenient() {
+    var cassetteFile = cassetteDir.resolve("misses.jsonl");
+    RestCassette.startScenario("users.feature:3");
+    try (var cassette = record(cassetteFile, MATCH_RULES)) {
+      call(cassette, "/misses", given().queryParam("page", 1));
+    }
+    var strictCassette = replay(cassetteFile, MATCH_RULES, true);
+    Assertions.assertThatThrownBy(
+            () -> call(strictCassette, "/misses", given().queryParam("page", 2)))
+        .isInstanceOf(AutomationException.class)
+        .hasMessageContaining("query=page=2");
+    var lenientCassette = replay(cassetteFile, MATCH_RULES, false);
+    var callsBeforeMiss = getCallCount("/misses").get();
+    Assertions.assertThat(
+            call(lenientCassette, "/misses", given().queryParam("page", 2)).getStatusCode())
+        .isEqualTo(200);
+    Assertions.assertThat(getCallCount("/misses")).hasValue(callsBeforeMiss + 1);
+  }
+
+  private static RestCassette record(Path cassetteFile, String matchRules) {
+    return new RestCassette(RestCassette.Mode.RECORD, cassetteFile, matchRules, true);
+  }
+
+  private static RestCassette replay(Path cassetteFile, String matchRules, boolean strictReplay) {
+    return new RestCassette(RestCassette.Mode.REPLAY, cassetteFile, matchRules, strictReplay);
+  }
+
+  private Response call(
+      RestCassette cassette, String path, RequestSpecification requestSpecification) {
+    return requestSpecification.filter(cassette::intercept).get(getUrl(path));
+  }
+
+  private String getUrl(String path) {
+    return String.format(
+        "http://%s:%s%s",
+        httpServer.getAddress().getHostString(), httpServer.getAddress().getPort(), path);
+  }
+
+  private AtomicInteger getCallCount(String path) {
+    return callCounts.computeIfAbsent(path, key -> new AtomicInteger());
+  }
+
+  private void respond(HttpExchange exchange) {
+    var call = getCallCount(exchange.getRequestURI().getPath()).incrementAndGet();
+    var bytes = String.format("{\"call\": %s}", call).getBytes(StandardCharsets.UTF_8);
+    try (exchange) {
+      exchange.getResponseHeaders().add("Content-Type", "application/json");
+      exchange.getResponseHeaders().add("X-Call", String.valueOf(call));
+      exchange.sendResponseHeaders(200, bytes.length);
+      exchange.getResponseBody().write(bytes);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
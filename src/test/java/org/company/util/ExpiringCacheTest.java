@@ -0,0 +1,110 @@
+package org.company.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.assertj.core.api.Assertions;
+import org.testng.annotations.Test;
+
+public class ExpiringCacheTest {
+
+  @Test
+  void testShouldEvictOldestLoadedEntryWhenFull() {
+    var cache = new ExpiringCache<String, String>(Duration.ofMinutes(5), 2);
+    cache.get("a", String::toUpperCase);
+    cache.get("b", String::toUpperCase);
+    cache.get("a", String::toUpperCase);
+    cache.get("c", String::toUpperCase);
+    var loads = new AtomicInteger();
+    cache.get("a", key -> key + loads.incrementAndGet());
+    cache.get("c", key -> key + loads.incrementAndGet());
+    Assertions.assertThat(loads).hasValue(1);
+    Assertions.assertThat(cache.size()).isEqualTo(2);
+    Assertions.assertThat(cache.getEvictionCount()).isEqualTo(2);
+  }
+
+  @Test
+  void testShouldReloadExpiredEntry() {
+    var now = new AtomicLong();
+    var cache = new ExpiringCache<String, Integer>(Duration.ofSeconds(1), 10, now::get);
+    var loads = new AtomicInteger();
+    Assertions.assertThat(cache.get("a", key -> loads.incrementAndGet())).isEqualTo(1);
+    now.addAndGet(Duration.ofMillis(999).toNanos());
+    Assertions.assertThat(cache.get("a", key -> loads.incrementAndGet())).isEqualTo(1);
+    now.addAndGet(Duration.ofMillis(1).toNanos());
+    Assertions.assertThat(cache.get("a", key -> loads.incrementAndGet())).isEqualTo(2);
+    Assertions.assertThat(cache.getHitCount()).isEqualTo(1);
+    Assertions.assertThat(cache.getMissCount()).isEqualTo(2);
+  }
+
+  @Test
+  void testShouldLoadOnceForConcurrentMisses() throws Exception {
+    var cache = new ExpiringCache<String, Integer>(Duration.ofMinutes(5));
+    var loads = new AtomicInteger();
+    var loadStarted = new CountDownLatch(1);
+    var loadReleased = new CountDownLatch(1);
+    var executor = Executors.newFixedThreadPool(4);
+    try {
+      var results = new ArrayList<Future<Integer>>();
+      results.add(
+          executor.submit(
+              () ->
+                  cache.get(
+                      "a",
+                      key -> {
+                        loadStarted.countDown();
+                        await(loadReleased);
+                        return loads.incrementAndGet();
+                      })));
+      Assertions.assertThat(loadStarted.await(5, TimeUnit.SECONDS)).isTrue();
+      for (int i = 0; i < 3; i++) {
+        results.add(executor.submit(() -> cache.get("a", key -> loads.incrementAndGet())));
+      }
+      loadReleased.countDown();
+      for (var result : results) {
+        Assertions.assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+      }
+      Assertions.assertThat(loads).hasValue(1);
+    } finally {
+      loadReleased.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testShouldNotCacheFailedLoad() {
+    var cache = new ExpiringCache<String, String>(Duration.ofMinutes(5));
+    Assertions.assertThatThrownBy(
+            () ->
+                cache.get(
+                    "a",
+                    key -> {
+                      throw new IllegalStateException("load failed");
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+    Assertions.assertThat(cache.get("a", String::toUpperCase)).isEqualTo("A");
+  }
+
+  @Test
+  void testShouldInvalidateMatchingKeys() {
+    var cache = new ExpiringCache<String, String>(Duration.ofMinutes(5));
+    cache.get("jobs:1", String::toUpperCase);
+    cache.get("jobs:2", String::toUpperCase);
+    cache.get("regions:1", String::toUpperCase);
+    cache.invalidateIf(key -> key.startsWith("jobs"));
+    Assertions.assertThat(cache.size()).isEqualTo(1);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package org.company.util;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.assertj.core.api.Assertions;
+import org.company.exception.AutomationException;
+import org.testng.annotations.Test;
+
+public class JsonDocumentTest {
+
+  private static final String USERS_JSON =
+      """
+      {"page": 1, "users": [
+        {"id": 1, "name": "Leanne", "email": null, "address": {"city": "Gwenborough"}},
+        {"id": 2, "name": "Ervin", "address": {"city": "Wisokyburgh"}}
+      ]}
+      """;
+
+  @Test
+  void testShouldGetValuesByDottedPath() {
+    var jsonDocument = JsonDocument.of(USERS_JSON);
+    Assertions.assertThat(jsonDocument.isObject()).isTrue();
+    Assertions.assertThat(jsonDocument.<Integer>get("page")).isEqualTo(1);
+    Assertions.assertThat(jsonDocument.<List<Object>>get("users.address.city"))
+        .containsExactly("Gwenborough", "Wisokyburgh");
+    Assertions.assertThat(jsonDocument.<Object>get("users.phone"))
+        .isEqualTo(Arrays.asList(null, null));
+    Assertions.assertThat(jsonDocument.<Object>get("total")).isNull();
+  }
+
+  @Test
+  void testShouldStepThroughRootArray() {
+    var jsonDocument = JsonDocument.of("[{\"id\": 1}, {\"id\": 2}]");
+    Assertions.assertThat(jsonDocument.isArray()).isTrue();
+    Assertions.assertThat(jsonDocument.<List<Object>>get("id")).containsExactly(1, 2);
+    Assertions.assertThat(jsonDocument.hasKey("id")).isTrue();
+  }
+
+  @Test
+  void testShouldTellNullValuesFromMissingKeys() {
+    var jsonDocument = JsonDocument.of(USERS_JSON);
+    Assertions.assertThat(jsonDocument.hasKey("users.email")).isTrue();
+    Assertions.assertThat(jsonDocument.hasValueForKey("users.email")).isFalse();
+    Assertions.assertThat(jsonDocument.hasKey("users.phone")).isFalse();
+    Assertions.assertThat(jsonDocument.hasValueForKey("users.address.city")).isTrue();
+    Assertions.assertThat(jsonDocument.hasKey("users.address")).isTrue();
+  }
+
+  @Test
+  void testShouldFallBackToJsonPathForExpressions() {
+    var jsonDocument = JsonDocument.of(USERS_JSON);
+    Assertions.assertThat(jsonDocument.<String>get("users[1].name")).isEqualTo("Ervin");
+    Assertions.assertThat(jsonDocument.<String>get("users.find { it.id == 1 }.address.city"))
+        .isEqualTo("Gwenborough");
+    Assertions.assertThat(jsonDocument.<Integer>get("users.size()")).isEqualTo(2);
+  }
+
+  @Test
+  void testShouldNotExposeMutableTree() {
+    var jsonDocument = JsonDocument.of(USERS_JSON);
+    var root = (Map<?, ?>) jsonDocument.getRoot();
+    Assertions.assertThatThrownBy(root::clear).isInstanceOf(UnsupportedOperationException.class);
+    var users = (List<?>) root.get("users");
+    Assertions.assertThatThrownBy(() -> users.remove(0))
+        .isInstanceOf(UnsupportedOperationException.class);
+    Assertions.assertThatThrownBy(() -> ((Map<?, ?>) users.get(0)).remove("id"))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void testShouldParseEachResponseOnce() {
+    var firstResponse = toResponse(USERS_JSON);
+    var secondResponse = toResponse("{\"page\": 2}");
+    var jsonDocument = JsonDocument.of(firstResponse);
+    Assertions.assertThat(JsonDocument.of(firstResponse)).isSameAs(jsonDocument);
+    Assertions.assertThat(JsonDocument.of(secondResponse).<Integer>get("page")).isEqualTo(2);
+    Assertions.assertThat(JsonDocument.of(firstResponse).<Integer>get("page")).isEqualTo(1);
+  }
+
+  @Test
+  void testShouldRejectNonJsonBody() {
+    Assertions.assertThatThrownBy(() -> JsonDocument.of("<html/>"))
+        .isInstanceOf(AutomationException.class)
+        .hasMessageContaining("Invalid json");
+  }
+
+  private static Response toResponse(String json) {
+    return new ResponseBuilder().setStatusCode(200).setBody(json).build();
+  }
+}
@@ -0,0 +1,120 @@
+package org.company.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.assertj.core.api.Assertions;
+import org.testng.annotations.Test;
+
+public class JsonStreamValidatorTest {
+
+  private static final String USERS_JSON =
+      """
+      {"page": 1, "users": [
+        {"id": 1, "name": "Leanne", "tags": ["a", "b"], "address": {"city": "Gwenborough", "geo": {"lat": "-37.3"}}},
+        {"id": 2, "name": "Ervin", "tags": ["c"], "address": {"city": "Wisokyburgh", "geo": {"lat": "-43.9"}}}
+      ]}
+      """;
+
+  @Test
+  void testShouldStepThroughNestedArrays() {
+    JsonStreamValidator.create()
+        .hasKey("page")
+        .hasValue("page", 1L)
+        .hasCount("users", 2)
+        .hasCount("users.id", 2)
+        .hasCount("users.tags", 3)
+        .hasValue("users.tags", "c")
+        .hasValue("users.address.geo.lat", "-43.9")
+        .allMatch("users.address.city", "a city name", city -> city instanceof String)
+        .validate(toInputStream(USERS_JSON));
+  }
+
+  @Test
+  void testShouldValidateMaterializedValuesAndTheirChildren() {
+    JsonStreamValidator.create()
+        .hasValue("users.address.geo", Map.of("lat", "-37.3"))
+        .hasValue("users.tags", List.of("c"))
+        .hasCount("users.address.geo.lat", 2)
+        .allMatch("users", user -> user instanceof Map<?, ?> map && map.containsKey("id"))
+        .validate(toInputStream(USERS_JSON));
+  }
+
+  @Test
+  void testShouldValidateRootPath() {
+    var usersArray = "[{\"id\": 1}, {\"id\": 2}, {\"id\": 3}]";
+    JsonStreamValidator.create()
+        .hasCount("$", 3)
+        .hasCount("$.id", 3)
+        .allMatch("$", user -> user instanceof Map<?, ?>)
+        .validate(toInputStream(usersArray));
+    Assertions.assertThatThrownBy(
+            () -> JsonStreamValidator.create().hasCount("$", 2).validate(toInputStream(usersArray)))
+        .isInstanceOf(AssertionError.class)
+        .hasMessageContaining("Expected 2 values for $ but found 3");
+  }
+
+  @Test
+  void testShouldReportMissingAndNullKeys() {
+    var json = "{\"users\": [{\"id\": 1, \"email\": null}, {\"id\": 2, \"email\": \"x@y.z\"}]}";
+    Assertions.assertThatThrownBy(
+            () ->
+                JsonStreamValidator.create()
+                    .hasKey("users.id")
+                    .hasKey("users.email")
+                    .hasKey("users.phone")
+                    .validate(toInputStream(json)))
+        .isInstanceOf(AssertionError.class)
+        .hasMessageContaining("Key users.email is null in 1 of 2 occurrences")
+        .hasMessageContaining("Key users.phone not found")
+        .hasMessageNotContaining("users.id");
+  }
+
+  @Test
+  void testShouldReportCountAndValueFailures() {
+    Assertions.assertThatThrownBy(
+            () ->
+                JsonStreamValidator.create()
+                    .hasCount("users.tags", 2)
+                    .hasValue("users.name", "Clementine")
+                    .validate(toInputStream(USERS_JSON)))
+        .isInstanceOf(AssertionError.class)
+        .hasMessageContaining("Expected 2 values for users.tags but found 3")
+        .hasMessageContaining("Value Clementine not found for users.name");
+  }
+
+  @Test
+  void testShouldReportFirstPredicateMismatch() {
+    Assertions.assertThatThrownBy(
+            () ->
+                JsonStreamValidator.create()
+                    .allMatch("users.id", "an id above 1", id -> ((Number) id).intValue() > 1)
+                    .allMatch("users.email", id -> true)
+                    .validate(toInputStream(USERS_JSON)))
+        .isInstanceOf(AssertionError.class)
+        .hasMessageContaining(
+            "1 of 2 values for users.id do not match an id above 1, first at index 0: 1")
+        .hasMessageContaining("No values found for users.email");
+  }
+
+  @Test
+  void testShouldResetChecksBetweenValidations() {
+    var validator = JsonStreamValidator.create().hasCount("users.id", 2);
+    validator.validate(toInputStream(USERS_JSON));
+    validator.validate(toInputStream(USERS_JSON));
+  }
+
+  @Test
+  void testShouldFailOnEmptyBody() {
+    Assertions.assertThatThrownBy(
+            () -> JsonStreamValidator.create().hasKey("id").validate(toInputStream("")))
+        .isInstanceOf(AssertionError.class)
+        .hasMessageContaining("Json body is empty");
+  }
+
+  private static InputStream toInputStream(String json) {
+    return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,111 @@
+package org.company.util.sql;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.assertj.core.api.Assertions;
+import org.testng.annotations.Test;
+
+public class QueryCacheTest {
+
+  private static final Duration TTL = Duration.ofMinutes(5);
+
+  @Test
+  void testShouldFindTablesWrittenByUpdateWithJoin() {
+    var writtenTables =
+        QueryCache.getWrittenTables(
+            "UPDATE e SET e.salary = j.max_salary FROM hrd.employees e"
+                + " INNER JOIN hrd.jobs j ON e.job_id = j.job_id WHERE e.employee_id = ?");
+    Assertions.assertThat(writtenTables).contains("employees", "jobs");
+  }
+
+  @Test
+  void testShouldFindBracketedAndSchemaQualifiedTables() {
+    Assertions.assertThat(
+            QueryCache.getWrittenTables("INSERT INTO [hrd].[job history] (a) VALUES (1)"))
+        .containsExactly("job history");
+    Assertions.assertThat(
+            QueryCache.getWrittenTables("DELETE FROM hrd . \"employees\" WHERE employee_id = 1"))
+        .containsExactly("employees");
+    Assertions.assertThat(QueryCache.getWrittenTables("TRUNCATE TABLE orgdb.hrd.regions"))
+        .containsExactly("regions");
+  }
+
+  @Test
+  void testShouldFindTablesWrittenByMerge() {
+    var mergeQuery =
+        "MERGE hrd.jobs AS t USING hrd.staging_jobs AS s ON t.job_id = s.job_id"
+            + " WHEN MATCHED THEN UPDATE SET t.min_salary = s.min_salary"
+            + " WHEN NOT MATCHED THEN INSERT (job_id) VALUES (s.job_id);";
+    Assertions.assertThat(QueryCache.getWrittenTables(mergeQuery)).contains("jobs");
+    Assertions.assertThat(QueryCache.getWrittenTables(mergeQuery.replace("MERGE ", "MERGE INTO ")))
+        .contains("jobs");
+  }
+
+  @Test
+  void testShouldInvalidateOnlyQueriesOnWrittenTables() {
+    var queryCache = new QueryCache(true, TTL, 10);
+    var loads = new AtomicInteger();
+    var jobsQuery = "SELECT * FROM [hrd].[job history] WHERE job_id = ?";
+    var regionsQuery = "SELECT * FROM hrd.regions";
+    queryCache.get(jobsQuery, List.of(1), () -> load(loads));
+    queryCache.get(regionsQuery, List.of(), () -> load(loads));
+    queryCache.get(jobsQuery, List.of(1), () -> load(loads));
+    Assertions.assertThat(loads).hasValue(2);
+    queryCache.invalidate("UPDATE hrd.[job history] SET end_date = NULL", false);
+    queryCache.get(jobsQuery, List.of(1), () -> load(loads));
+    queryCache.get(regionsQuery, List.of(), () -> load(loads));
+    Assertions.assertThat(loads).hasValue(3);
+    Assertions.assertThat(queryCache.getStats().invalidationCount()).isEqualTo(1);
+  }
+
+  @Test
+  void testShouldBypassCacheForTablesWithUncommittedWrites() {
+    var queryCache = new QueryCache(true, TTL, 10);
+    var loads = new AtomicInteger();
+    var jobsQuery = "SELECT * FROM hrd.jobs";
+    var regionsQuery = "SELECT * FROM hrd.regions";
+    queryCache.get(jobsQuery, List.of(), () -> load(loads));
+    queryCache.get(regionsQuery, List.of(), () -> load(loads));
+    queryCache.invalidate("INSERT INTO hrd.jobs (job_id) VALUES (?)", true);
+    queryCache.get(jobsQuery, List.of(), () -> load(loads));
+    queryCache.get(jobsQuery, List.of(), () -> load(loads));
+    queryCache.get(regionsQuery, List.of(), () -> load(loads));
+    Assertions.assertThat(loads).hasValue(4);
+    queryCache.endTransaction();
+    queryCache.get(jobsQuery, List.of(), () -> load(loads));
+    queryCache.get(jobsQuery, List.of(), () -> load(loads));
+    Assertions.assertThat(loads).hasValue(5);
+  }
+
+  @Test
+  void testShouldNotCacheWritingOrNonDeterministicQueries() {
+    var queryCache = new QueryCache(true, TTL, 10);
+    var loads = new AtomicInteger();
+    for (var sqlQuery :
+        List.of(
+            "SELECT * INTO #jobs FROM hrd.jobs",
+            "WITH j AS (SELECT job_id FROM hrd.jobs) UPDATE hrd.jobs SET min_salary = 0",
+            "SELECT NEWID(), job_id FROM hrd.jobs",
+            "SELECT * FROM #jobs")) {
+      queryCache.get(sqlQuery, List.of(), () -> load(loads));
+      queryCache.get(sqlQuery, List.of(), () -> load(loads));
+    }
+    Assertions.assertThat(loads).hasValue(8);
+    Assertions.assertThat(queryCache.getStats().size()).isZero();
+  }
+
+  @Test
+  void testShouldNotCacheWhenDisabled() {
+    var queryCache = new QueryCache(false, TTL, 10);
+    var loads = new AtomicInteger();
+    queryCache.get("SELECT * FROM hrd.jobs", List.of(), () -> load(loads));
+    queryCache.get("SELECT * FROM hrd.jobs", List.of(), () -> load(loads));
+    Assertions.assertThat(loads).hasValue(2);
+  }
+
+  private static ResultTable load(AtomicInteger loads) {
+    loads.incrementAndGet();
+    return null;
+  }
+}
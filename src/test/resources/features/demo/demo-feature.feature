@@ -11,6 +11,16 @@ Feature: Demo feature
       | host                                  | url                                             | expected-response-status-code |
       | https://jsonplaceholder.typicode.com  | https://jsonplaceholder.typicode.com/users/1    | 200                        |
 
+  @ApiTest @LoadTest
+  Scenario Outline: Load test the dummy api scenario
+    Given API host "<host>" is reachable
+    When GET API endpoint having url "<url>" is load tested at <rps> rps for <seconds> seconds
+    Then Validate if load test p99 latency is under <p99-latency> ms
+    Then Validate if load test error rate is under 1 percent
+    Examples:
+      | host                                  | url                                             | rps | seconds | p99-latency |
+      | https://jsonplaceholder.typicode.com  | https://jsonplaceholder.typicode.com/users/1    | 5   | 3       | 3000        |
+
   @DatabaseTest
   Scenario Outline: Test the dummy database scenario
     Given Connect to "sql-server" database
@@ -19,4 +29,15 @@ Feature: Demo feature
     Then Validate if result contains row number <row-number> column name "<column-name>" value as "<expected-value>"
     Examples:
       | sql-file        | sql-file-path                         | expected-number-of-rows | row-number | column-name | expected-value |
-      | sql-query.json  | src/test/resources/features/demo/sql  | 6                       | 1          | region_id   | 3              |
\ No newline at end of file
+      | sql-query.json  | src/test/resources/features/demo/sql  | 6                       | 1          | region_id   | 3              |
+
+  @DatabaseTest
+  Scenario Outline: Test the parameterized database scenario
+    Given Connect to "sql-server" database
+    When SQL query "sql-2" from file "<sql-file>" at path "<sql-file-path>" is executed with parameters "<region-id>"
+    Then Validate if result contains <expected-number-of-rows> rows
+    Examples:
+      | sql-file        | sql-file-path                         | region-id | expected-number-of-rows |
+      | sql-query.json  | src/test/resources/features/demo/sql  | 1         | 8                       |
+      | sql-query.json  | src/test/resources/features/demo/sql  | 2         | 5                       |
+      | sql-query.json  | src/test/resources/features/demo/sql  | 4         | 6                       |